@@ -0,0 +1,10 @@
+package exceptions;
+
+public class InvalidReplayException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidReplayException(String error) {
+        super(error);
+    }
+
+}
@@ -0,0 +1,40 @@
+package model;
+
+import player.Character;
+
+/**
+ * The ArenaRoster class holds the opponents of the arena, one for each level a player fights through. Every call
+ * builds a fresh opponent at full health, so the characters it produces can be fought and thrown away.
+ *
+ * @author Arjun
+ */
+public final class ArenaRoster {
+    public static final int NUMBER_OF_LEVELS = 5;  // the number of opponents, one per level
+
+    private ArenaRoster() {
+    }
+
+    // EFFECTS: Produce an enemy corresponding to a players level (any level past the last produces the last enemy)
+    public static Character enemyFor(int level) {
+        if (level <= 1) {
+            return new Character("Goblin Knight", "goblin", "knight",
+                    10, 10, 10, 10, 10);
+
+        } else if (level == 2) {
+            return new Character("Huntress", "elf", "hunter",
+                    20, 8, 6, 30, 20);
+
+        } else if (level == 3) {
+            return new Character("Lich King", "lich", "wizard",
+                    15, 35, 10, 25, 10);
+
+        } else if (level == 4) {
+            return new Character("Bruntus", "cyclops", "barbarian",
+                    50, 5, 30, 40, 40);
+
+        } else {
+            return new Character("Champion of the Arena", "tiefling", "champion",
+                    80, 20, 40, 30, 10);
+        }
+    }
+}
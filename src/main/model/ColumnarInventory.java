@@ -0,0 +1,232 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The ColumnarInventory class is an Inventory that does not keep an Equipment object per item. Instead, the values
+ * of every item are stored in parallel int columns (item id, strength, endurance, dexterity, speed and worth), which
+ * avoids the per-object headers and pointer chasing of a List of Equipment when simulating millions of items.
+ *
+ * The columns are kept in fixed size chunks, so growing the inventory only ever allocates a new chunk instead of
+ * copying every column. The id column holds the EquipmentCatalog id of each item. An item that is not in the
+ * catalog has the id EquipmentCatalog.NO_ID, and is kept in an Equipment column of its own chunk, which is only
+ * allocated once the chunk holds such an item.
+ *
+ * The public API is the same as Inventory; getEquipment produces the shared catalog entry of the stored item (or
+ * the item itself, if it is not in the catalog). A
+ * snapshot shares the chunks with the original, and whichever of them changes first copies them.
+ *
+ * @author Arjun
+ */
+public class ColumnarInventory extends Inventory {
+    private static final int CHUNK_SHIFT = 10;  // each chunk holds 2^CHUNK_SHIFT items
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final int ID = 0;  // These are the offsets (in chunk sizes) of each column inside a chunk
+    private static final int STRENGTH = 1;
+    private static final int ENDURANCE = 2;
+    private static final int DEXTERITY = 3;
+    private static final int SPEED = 4;
+    private static final int WORTH = 5;
+    private static final int COLUMNS = 6;
+
+    private int[][] chunks;  // every chunk holds COLUMNS blocks of CHUNK_SIZE values, one block per column
+    private Equipment[][] custom;  // the items of each chunk that are not in the catalog, or null if it has none
+    private int size;  // the number of items in the inventory
+    private boolean shared;  // true while the chunks may also be used by a snapshot, so they are copied before a change
+
+    // EFFECTS: constructs an empty columnar inventory
+    public ColumnarInventory() {
+        super();
+        this.chunks = new int[1][];
+        this.custom = new Equipment[1][];
+    }
+
+    // EFFECTS: produce the size of an inventory (number of items in it)
+    @Override
+    public int getInventorySize() {
+        return this.size;
+    }
+
+    // REQUIRES: 0 <= index < getInventorySize()
+    // EFFECTS: produce the catalog entry of the item stored at index
+    @Override
+    protected Equipment equipmentAt(int index) {
+        int id = get(ID, index);
+        return id == EquipmentCatalog.NO_ID ? customAt(index) : EquipmentCatalog.getEquipment(id);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends the values of item to the end of every column, adding a new chunk if the last one is full
+    @Override
+    protected void store(Equipment item) {
+        ownChunks();
+        int chunk = this.size >>> CHUNK_SHIFT;
+        if (chunk == this.chunks.length) {
+            this.chunks = Arrays.copyOf(this.chunks, this.chunks.length * 2);
+            this.custom = Arrays.copyOf(this.custom, this.custom.length * 2);
+        }
+        if (this.chunks[chunk] == null) {
+            this.chunks[chunk] = new int[COLUMNS * CHUNK_SIZE];
+        }
+        int index = this.size;
+        this.size++;
+        int id = EquipmentCatalog.idOf(item);
+        set(ID, index, id);
+        if (id == EquipmentCatalog.NO_ID) {
+            setCustom(index, item);
+        }
+        set(STRENGTH, index, item.getStrength());
+        set(ENDURANCE, index, item.getEndurance());
+        set(DEXTERITY, index, item.getDexterity());
+        set(SPEED, index, item.getSpeed());
+        set(WORTH, index, item.getWorth());
+    }
+
+    // REQUIRES: 0 <= index < getInventorySize()
+    // MODIFIES: this
+    // EFFECTS: removes the values stored at index by shifting every later item down by one, and produces the
+    //          equipment that was removed
+    @Override
+    protected Equipment unstore(int index) {
+        ownChunks();
+        Equipment removed = equipmentAt(index);
+        for (int column = 0; column < COLUMNS; column++) {
+            shiftDown(column, index);
+        }
+        for (int i = index; i < this.size - 1; i++) {
+            setCustom(i, customAt(i + 1));
+        }
+        setCustom(this.size - 1, null);
+        this.size--;
+        return removed;
+    }
+
+    // REQUIRES: removed.length == getInventorySize()
+    // MODIFIES: this
+    // EFFECTS: removes every item whose index is marked in removed, compacting each column in a single pass
+    @Override
+    protected void compact(boolean[] removed) {
+        ownChunks();
+        int kept = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (!removed[i]) {
+                if (kept != i) {
+                    for (int column = 0; column < COLUMNS; column++) {
+                        set(column, kept, get(column, i));
+                    }
+                    setCustom(kept, customAt(i));
+                }
+                kept++;
+            }
+        }
+        for (int i = kept; i < this.size; i++) {
+            setCustom(i, null);
+        }
+        this.size = kept;
+    }
+
+    // EFFECTS: calls visitor with the stat modifiers and worth of every item in the inventory and its index, in
+    //          inventory order, reading the columns of each chunk directly
+    @Override
+    public void forEachStats(StatVisitor visitor) {
+        for (int start = 0; start < this.size; start += CHUNK_SIZE) {
+            int[] chunk = this.chunks[start >>> CHUNK_SHIFT];
+            int count = Math.min(CHUNK_SIZE, this.size - start);
+            for (int offset = 0; offset < count; offset++) {
+                visitor.visit(start + offset,
+                        chunk[STRENGTH * CHUNK_SIZE + offset],
+                        chunk[ENDURANCE * CHUNK_SIZE + offset],
+                        chunk[DEXTERITY * CHUNK_SIZE + offset],
+                        chunk[SPEED * CHUNK_SIZE + offset],
+                        chunk[WORTH * CHUNK_SIZE + offset]);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce a copy of the inventory that shares its chunks until either of them changes. This is only
+    //          marked as shared if it is not already, so snapshots of a shared inventory only read it
+    @Override
+    public ColumnarInventory snapshot() {
+        ColumnarInventory copy = new ColumnarInventory();
+        copy.chunks = this.chunks;
+        copy.custom = this.custom;
+        copy.size = this.size;
+        copy.shared = true;
+        if (!this.shared) {
+            this.shared = true;
+        }
+        copyStateTo(copy);
+        return copy;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: copies the chunks (and their Equipment columns) if they may be shared with a snapshot, so they can
+    //          be changed
+    private void ownChunks() {
+        if (this.shared) {
+            int[][] copied = new int[this.chunks.length][];
+            Equipment[][] copiedCustom = new Equipment[this.custom.length][];
+            for (int i = 0; i < copied.length; i++) {
+                copied[i] = this.chunks[i] == null ? null : this.chunks[i].clone();
+                copiedCustom[i] = this.custom[i] == null ? null : this.custom[i].clone();
+            }
+            this.chunks = copied;
+            this.custom = copiedCustom;
+            this.shared = false;
+        }
+    }
+
+    // REQUIRES: 0 <= index < getInventorySize()
+    // MODIFIES: this
+    // EFFECTS: moves every value of a column after index down by one position, one chunk segment at a time
+    private void shiftDown(int column, int index) {
+        int last = this.size - 1;
+        int position = index;
+        while (position < last) {
+            int[] chunk = this.chunks[position >>> CHUNK_SHIFT];
+            int offset = position & CHUNK_MASK;
+            int count = Math.min(CHUNK_SIZE - 1 - offset, last - position);
+            int base = column * CHUNK_SIZE;
+            System.arraycopy(chunk, base + offset + 1, chunk, base + offset, count);
+            position += count;
+            if (position < last) {  // the last slot of this chunk takes the first value of the next chunk
+                set(column, position, get(column, position + 1));
+                position++;
+            }
+        }
+    }
+
+    // EFFECTS: produce the value of a column at index
+    private int get(int column, int index) {
+        return this.chunks[index >>> CHUNK_SHIFT][column * CHUNK_SIZE + (index & CHUNK_MASK)];
+    }
+
+    // EFFECTS: produce the item at index that is not in the catalog, or null if there is none
+    private Equipment customAt(int index) {
+        Equipment[] chunk = this.custom[index >>> CHUNK_SHIFT];
+        return chunk == null ? null : chunk[index & CHUNK_MASK];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keeps item (or null) as the item at index that is not in the catalog, allocating the Equipment
+    //          column of its chunk only if item is not null
+    private void setCustom(int index, Equipment item) {
+        Equipment[] chunk = this.custom[index >>> CHUNK_SHIFT];
+        if (chunk == null && item != null) {
+            chunk = new Equipment[CHUNK_SIZE];
+            this.custom[index >>> CHUNK_SHIFT] = chunk;
+        }
+        if (chunk != null) {
+            chunk[index & CHUNK_MASK] = item;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the value of a column at index
+    private void set(int column, int index, int value) {
+        this.chunks[index >>> CHUNK_SHIFT][column * CHUNK_SIZE + (index & CHUNK_MASK)] = value;
+    }
+}
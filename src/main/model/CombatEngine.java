@@ -0,0 +1,132 @@
+package model;
+
+import player.Character;
+
+/**
+ * The CombatEngine class resolves fights between two characters, with no UI. It holds the combat rules of the game:
+ *
+ * - The faster character attacks first in every round (if both are as fast, the second character given goes first),
+ *   and the other hits back if it is still alive.
+ * - An attack hits if the dexterity of the attacker is at least a random roll within [0, DEXTERITY_ROLL].
+ * - A hit deals the strength of the attacker minus half the endurance of the defender, but always at least 1.
+ *
+ * Rolls come from the GameRandom given to the engine, so a seeded GameRandom replays the same fight. Everything that
+ * happens is reported to an optional CombatListener.
+ *
+ * @author Arjun
+ */
+public class CombatEngine {
+    public static final int DEXTERITY_ROLL = 60;  // attacks hit if the attacker's DEX is at least a roll up to this
+
+    private static final CombatListener NO_LISTENER = new CombatListener() {
+    };
+
+    private final GameRandom random;  // where every hit roll comes from
+    private final CombatListener listener;  // told about everything that happens
+
+    // EFFECTS: constructs an engine rolling with random and reporting to no one
+    public CombatEngine(GameRandom random) {
+        this.random = random;
+        this.listener = NO_LISTENER;
+    }
+
+    // EFFECTS: constructs an engine rolling with random and reporting everything that happens to each of listeners,
+    //          in the order they are given
+    public CombatEngine(GameRandom random, CombatListener... listeners) {
+        this.random = random;
+        this.listener = listeners.length == 1 ? listeners[0] : new AllListeners(listeners);
+    }
+
+    // REQUIRES: both characters are alive
+    // MODIFIES: first, second
+    // EFFECTS: fights rounds until one of the characters dies, and produces the winner
+    public Character fight(Character first, Character second) {
+        Character winner = null;
+        while (winner == null) {
+            winner = round(first, second);
+        }
+        return winner;
+    }
+
+    // REQUIRES: both characters are alive
+    // MODIFIES: first, second
+    // EFFECTS: fights one round, where the faster character attacks and the other hits back if it survives, and
+    //          produces the winner if one of them died, or null if both are still alive
+    public Character round(Character first, Character second) {
+        Character attacker = first.getSpeed() > second.getSpeed() ? first : second;
+        Character defender = attacker == first ? second : first;
+        attack(attacker, defender);
+        if (!defender.isAlive()) {
+            return attacker;
+        }
+        attack(defender, attacker);
+        return attacker.isAlive() ? null : defender;
+    }
+
+    // MODIFIES: defender
+    // EFFECTS: attacker attacks defender once, and returns true if it hit
+    public boolean attack(Character attacker, Character defender) {
+        this.listener.attackStarted(attacker, defender);
+        if (attacker.getDexterity() >= this.random.roll(DEXTERITY_ROLL)) {
+            int damage = damage(attacker, defender);
+            defender.takeDamage(damage);
+            this.listener.attackHit(attacker, defender, damage);
+            if (!defender.isAlive()) {
+                this.listener.characterSlain(attacker, defender);
+            }
+            return true;
+        }
+        this.listener.attackMissed(attacker, defender);
+        return false;
+    }
+
+    // EFFECTS: produce the chance that an attack from attacker hits (DEX of at least DEXTERITY_ROLL always hits)
+    public static double hitChance(Character attacker) {
+        int hittingRolls = Math.max(0, Math.min(attacker.getDexterity() + 1, DEXTERITY_ROLL + 1));
+        return (double) hittingRolls / (DEXTERITY_ROLL + 1);
+    }
+
+    // EFFECTS: produce the damage a hit from attacker deals to defender (END mitigates some, but at least 1 is dealt)
+    public static int damage(Character attacker, Character defender) {
+        return Math.max(1, attacker.getStrength() - defender.getEndurance() / 2);
+    }
+
+    /**
+     * A listener that passes every event on to each of several listeners in turn.
+     */
+    private static class AllListeners implements CombatListener {
+        private final CombatListener[] listeners;  // told about every event, in order
+
+        AllListeners(CombatListener[] listeners) {
+            this.listeners = listeners.clone();
+        }
+
+        @Override
+        public void attackStarted(Character attacker, Character defender) {
+            for (CombatListener listener : this.listeners) {
+                listener.attackStarted(attacker, defender);
+            }
+        }
+
+        @Override
+        public void attackHit(Character attacker, Character defender, int damage) {
+            for (CombatListener listener : this.listeners) {
+                listener.attackHit(attacker, defender, damage);
+            }
+        }
+
+        @Override
+        public void attackMissed(Character attacker, Character defender) {
+            for (CombatListener listener : this.listeners) {
+                listener.attackMissed(attacker, defender);
+            }
+        }
+
+        @Override
+        public void characterSlain(Character attacker, Character defender) {
+            for (CombatListener listener : this.listeners) {
+                listener.characterSlain(attacker, defender);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package model;
+
+import player.Character;
+
+/**
+ * The CombatListener interface is told about everything that happens in a fight resolved by a CombatEngine, in the
+ * order it happens. Every method has an empty default, so a listener only overrides the events it cares about. The
+ * UIs use a listener to describe the fight; simulations usually use none.
+ *
+ * @author Arjun
+ */
+public interface CombatListener {
+    // EFFECTS: handles attacker being about to attack defender
+    default void attackStarted(Character attacker, Character defender) {
+    }
+
+    // EFFECTS: handles attacker hitting defender for damage, after the damage has been taken
+    default void attackHit(Character attacker, Character defender, int damage) {
+    }
+
+    // EFFECTS: handles attacker missing defender
+    default void attackMissed(Character attacker, Character defender) {
+    }
+
+    // EFFECTS: handles attacker killing defender, right after the hit that did it
+    default void characterSlain(Character attacker, Character defender) {
+    }
+}
@@ -0,0 +1,185 @@
+package model;
+
+import exceptions.InvalidEquipmentException;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * The ConcurrentInventory class is a collection of Equipment that can be shared and changed by many threads at once,
+ * for example when a trade between two players is processed on a worker thread while the game keeps running.
+ *
+ * The equipment and their stat totals are kept together in an immutable Snapshot. Every change builds a new Snapshot
+ * and swaps it in with a compare-and-set, retrying if another thread changed the inventory first, so no change is
+ * ever lost and the totals always match the equipment they were computed from. Readers never take a lock: they
+ * simply read the current Snapshot, which no writer will ever modify, so iterating over it never blocks a writer.
+ *
+ * Each change copies the array of equipment, which makes writes O(n) but keeps reads (like the totals used in every
+ * attack) O(1) and free of locks.
+ *
+ * @author Arjun
+ */
+public class ConcurrentInventory {
+    private final AtomicReference<Snapshot> current;
+
+    // EFFECTS: constructs an empty concurrent inventory
+    public ConcurrentInventory() {
+        this.current = new AtomicReference<>(new Snapshot(new Equipment[0], StatTotals.ZERO));
+    }
+
+    // EFFECTS: produce the current state of the inventory; it will never change, even if the inventory does
+    public Snapshot snapshot() {
+        return this.current.get();
+    }
+
+    // EFFECTS: produce a specific equipment at a specified index, else throws InvalidEquipmentException if unable to
+    public Equipment getEquipment(int index) throws InvalidEquipmentException {
+        return snapshot().getEquipment(index);
+    }
+
+    // EFFECTS: produce the size of an inventory (number of items in it)
+    public int getInventorySize() {
+        return snapshot().getInventorySize();
+    }
+
+    // EFFECTS: produce the total strength modification value from elements in the Inventory
+    public int getTotalStrength() {
+        return snapshot().getTotalStrength();
+    }
+
+    // EFFECTS: produce the total endurance modification value from elements in the Inventory
+    public int getTotalEndurance() {
+        return snapshot().getTotalEndurance();
+    }
+
+    // EFFECTS: produce the total dexterity modification value from elements in the Inventory
+    public int getTotalDexterity() {
+        return snapshot().getTotalDexterity();
+    }
+
+    // EFFECTS: produce the total speed modification value from elements in the Inventory
+    public int getTotalSpeed() {
+        return snapshot().getTotalSpeed();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a new equipment to the inventory of equipment
+    public void addEquipment(Equipment item) {
+        Snapshot before;
+        Snapshot after;
+        do {
+            before = this.current.get();
+            Equipment[] items = Arrays.copyOf(before.items, before.items.length + 1);
+            items[before.items.length] = item;
+            after = new Snapshot(items, before.totals.plus(item));
+        } while (!this.current.compareAndSet(before, after));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remove an equipment from an Inventory if it is in the Inventory, else throw InvalidEquipmentException
+    public void removeEquipment(int index) throws InvalidEquipmentException {
+        Snapshot before;
+        do {
+            before = this.current.get();
+            if (index < 0 || index >= before.items.length) {
+                throw new InvalidEquipmentException("That equipment is out of bounds.");
+            }
+        } while (!this.current.compareAndSet(before, before.without(index)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the first occurrence of this exact equipment object and produces true, or produces false if
+    //          it is not in the inventory. Unlike removing by index, this is safe when other threads shift the items
+    public boolean removeEquipment(Equipment item) {
+        Snapshot before;
+        int index;
+        do {
+            before = this.current.get();
+            index = before.indexOf(item);
+            if (index < 0) {
+                return false;
+            }
+        } while (!this.current.compareAndSet(before, before.without(index)));
+        return true;
+    }
+
+    /**
+     * A Snapshot is the immutable state of a ConcurrentInventory at one moment: its equipment and their totals.
+     */
+    public static final class Snapshot {
+        private final Equipment[] items;  // never modified once the snapshot is built
+        private final StatTotals totals;  // the sum of the modifiers of every item
+
+        // EFFECTS: constructs a snapshot holding items with the given totals
+        private Snapshot(Equipment[] items, StatTotals totals) {
+            this.items = items;
+            this.totals = totals;
+        }
+
+        // EFFECTS: produce a specific equipment at a specified index, else throws InvalidEquipmentException
+        public Equipment getEquipment(int index) throws InvalidEquipmentException {
+            if (0 <= index && index < this.items.length) {
+                return this.items[index];
+            } else {
+                throw new InvalidEquipmentException("That equipment is out of bounds.");
+            }
+        }
+
+        // EFFECTS: produce the number of items in the snapshot
+        public int getInventorySize() {
+            return this.items.length;
+        }
+
+        // EFFECTS: produce the total strength modification value of the snapshot
+        public int getTotalStrength() {
+            return this.totals.getStrength();
+        }
+
+        // EFFECTS: produce the total endurance modification value of the snapshot
+        public int getTotalEndurance() {
+            return this.totals.getEndurance();
+        }
+
+        // EFFECTS: produce the total dexterity modification value of the snapshot
+        public int getTotalDexterity() {
+            return this.totals.getDexterity();
+        }
+
+        // EFFECTS: produce the total speed modification value of the snapshot
+        public int getTotalSpeed() {
+            return this.totals.getSpeed();
+        }
+
+        // EFFECTS: produce the total of every stat modifier of the snapshot
+        public StatTotals getTotalStats() {
+            return this.totals;
+        }
+
+        // EFFECTS: calls action on every equipment in the snapshot, in order
+        public void forEach(Consumer<Equipment> action) {
+            for (Equipment item : this.items) {
+                action.accept(item);
+            }
+        }
+
+        // EFFECTS: produce the index of the first occurrence of this exact equipment object, or -1 if there is none
+        private int indexOf(Equipment item) {
+            for (int i = 0; i < this.items.length; i++) {
+                if (this.items[i] == item) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // REQUIRES: 0 <= index < getInventorySize()
+        // EFFECTS: produce a copy of this snapshot without the equipment at index
+        private Snapshot without(int index) {
+            Equipment[] remaining = new Equipment[this.items.length - 1];
+            System.arraycopy(this.items, 0, remaining, 0, index);
+            System.arraycopy(this.items, index + 1, remaining, index, remaining.length - index);
+            return new Snapshot(remaining, this.totals.minus(this.items[index]));
+        }
+    }
+}
@@ -3,6 +3,8 @@ package model;
 import org.json.JSONObject;
 import persistence.Writable;
 
+import java.util.Objects;
+
 /**
  * The Equipment class is a representation of items that can bought and used by a
  * player to modify their stats. Each equipment has a name, and values for their strength,
@@ -12,7 +14,11 @@ import persistence.Writable;
  * The modifier values of these equipment items will be added to the stats of a Character object if they are in
  * their inventory.
  *
- * There are methods for getting each of the fields or values of an Equipment.
+ * The four stat modifiers are stored together as a StatBlock. They are also kept widened into the two halves of a
+ * StatTotals, so adding an equipment to a running total takes two packed additions without unpacking any lane.
+ *
+ * There are methods for getting each of the fields or values of an Equipment. Two equipment are equal if their
+ * names, modifiers and worth all match.
  *
  * @author Arjun
  */
@@ -20,19 +26,18 @@ import persistence.Writable;
 // Represents equipment that can be bought and used by a player to modify their stats
 public class Equipment implements Writable {
     private final String name;  // The name of a weapon
-    private final int strength; // The damage modifier of a weapon
-    private final int endurance;  // the endurance modifier of a weapon
-    private final int dexterity;  // the dexterity modifier of a weapon
-    private final int speed;  // the speed modifier of a weapon
+    private final long stats;  // The strength, endurance, dexterity and speed modifiers of a weapon, as a StatBlock
+    private final long lowHalf;  // The strength and endurance modifiers, as a StatTotals low half
+    private final long highHalf;  // The dexterity and speed modifiers, as a StatTotals high half
     private final int worth;  // The amount of gold a weapon is worth
 
+    // REQUIRES: every modifier must be within [StatBlock.MIN_STAT, StatBlock.MAX_STAT]
     // EFFECTS: Constructs a weapon with a weapon name, the damage it does, and its worth in gold
     public Equipment(String name, int strength, int endurance, int dexterity, int speed, int worth) {
         this.name = name;
-        this.strength = strength;
-        this.endurance = endurance;
-        this.dexterity = dexterity;
-        this.speed = speed;
+        this.stats = StatBlock.of(strength, endurance, dexterity, speed);
+        this.lowHalf = StatTotals.widenLow(this.stats);
+        this.highHalf = StatTotals.widenHigh(this.stats);
         this.worth = worth;
     }
 
@@ -43,22 +48,37 @@ public class Equipment implements Writable {
 
     // EFFECTS: returns the strength modifier of an equipment item
     public int getStrength() {
-        return this.strength;
+        return StatBlock.strength(this.stats);
     }
 
     // EFFECTS: returns the endurance modifier of an equipment item
     public int getEndurance() {
-        return this.endurance;
+        return StatBlock.endurance(this.stats);
     }
 
     // EFFECTS: returns the dexterity modifier of an equipment item
     public int getDexterity() {
-        return this.dexterity;
+        return StatBlock.dexterity(this.stats);
     }
 
     // EFFECTS: returns the speed modifier of an equipment item
     public int getSpeed() {
-        return this.speed;
+        return StatBlock.speed(this.stats);
+    }
+
+    // EFFECTS: returns the four stat modifiers of an equipment item as a StatBlock
+    public long getStats() {
+        return this.stats;
+    }
+
+    // EFFECTS: returns the strength and endurance modifiers of an equipment item as a StatTotals low half
+    public long getLowHalf() {
+        return this.lowHalf;
+    }
+
+    // EFFECTS: returns the dexterity and speed modifiers of an equipment item as a StatTotals high half
+    public long getHighHalf() {
+        return this.highHalf;
     }
 
     // EFFECTS: returns the worth in gold of an equipment item
@@ -66,6 +86,25 @@ public class Equipment implements Writable {
         return this.worth;
     }
 
+    // EFFECTS: returns true if o is an equipment with the same name, modifiers and worth
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Equipment that = (Equipment) o;
+        return this.stats == that.stats && this.worth == that.worth && this.name.equals(that.name);
+    }
+
+    // EFFECTS: returns a hash code made from the name, modifiers and worth
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.name, this.stats, this.worth);
+    }
+
     // EFFECTS: produces an Equipment as a JSONObject
     // CITATION: The base code can be found at https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
     //           This method is implemented using the CPSC 210 JsonSerializationDemo as it's base code.
@@ -74,10 +113,10 @@ public class Equipment implements Writable {
         JSONObject json = new JSONObject();
 
         json.put("name", name);
-        json.put("strength", strength);
-        json.put("endurance", endurance);
-        json.put("dexterity", dexterity);
-        json.put("speed", speed);
+        json.put("strength", getStrength());
+        json.put("endurance", getEndurance());
+        json.put("dexterity", getDexterity());
+        json.put("speed", getSpeed());
         json.put("worth", worth);
 
         return json;
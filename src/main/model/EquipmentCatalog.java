@@ -0,0 +1,108 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The EquipmentCatalog class owns one canonical Equipment object for every item sold in the shop. Since an Equipment
+ * can never change, inventories can all reference the same catalog entry instead of holding their own copies, and
+ * each entry can be referred to by a small integer id.
+ *
+ * The catalog holds exactly the 14 items sold in the shop (7 weapons and 7 pieces of armour) and never grows. Any
+ * other item (for example a custom item read from a save file) has no id, and is kept by whoever owns it. Two items
+ * are the same entry if their name and every value match.
+ *
+ * There are methods for rolling shop items, interning items and looking them up by id.
+ *
+ * @author Arjun
+ */
+public final class EquipmentCatalog {
+    public static final int MAX_ROLL = 12;  // rolls for weapons and armour are within [0, MAX_ROLL]
+    public static final int NO_ID = -1;  // the id produced for an item that is not in the catalog
+
+    // These tables map a roll in [0, MAX_ROLL] to the id of the weapon or armour it produces
+    private static final int[] WEAPON_ROLLS = {0, 0, 0, 1, 1, 1, 2, 2, 3, 3, 4, 5, 6};
+    private static final int[] ARMOUR_ROLLS = {7, 7, 7, 8, 8, 8, 9, 9, 10, 10, 11, 12, 13};
+
+    private static final Equipment[] entries = {
+            new Equipment("iron dagger", 1, 0, 1, 0, 25),  // Weapons
+            new Equipment("iron sword", 2, 0, 0, 0, 25),
+            new Equipment("swift bow", 1, 0, 2, 2, 50),
+            new Equipment("dark blade", 3, 0, 2, 0, 50),
+            new Equipment("demonic dagger", 4, 0, 6, 5, 100),
+            new Equipment("holy longsword", 11, 0, 4, 0, 100),
+            new Equipment("weapon of champions", 10, 10, 10, 10, 200),
+            new Equipment("wooden shield", 0, 2, 0, 0, 25),  // Armour
+            new Equipment("leather boots", 0, 0, 0, 2, 25),
+            new Equipment("armour of strength", 2, 3, 0, 0, 50),
+            new Equipment("tunic of speed", 0, 1, 1, 3, 50),
+            new Equipment("godly armour", 2, 10, 1, 1, 100),
+            new Equipment("token of true sight", 1, 1, 12, 1, 100),
+            new Equipment("amulet of champions", 10, 10, 10, 10, 200)};  // every entry, indexed by id
+    private static final Map<String, Integer> idsByName = new HashMap<>();  // the id of each name, never changed
+
+    static {
+        for (int id = 0; id < entries.length; id++) {
+            idsByName.put(entries[id].getName(), id);
+        }
+    }
+
+    private EquipmentCatalog() {
+    }
+
+    // REQUIRES: roll must be within [0, MAX_ROLL]
+    // EFFECTS: produce the shared equipment (stylized as a weapon) for a roll
+    public static Equipment rollWeapon(int roll) {
+        return getEquipment(WEAPON_ROLLS[roll]);
+    }
+
+    // REQUIRES: roll must be within [0, MAX_ROLL]
+    // EFFECTS: produce the shared equipment (stylized as armour) for a roll
+    public static Equipment rollArmour(int roll) {
+        return getEquipment(ARMOUR_ROLLS[roll]);
+    }
+
+    // REQUIRES: 0 <= id < size()
+    // EFFECTS: produce the catalog entry with the given id
+    public static Equipment getEquipment(int id) {
+        return entries[id];
+    }
+
+    // EFFECTS: produce the number of entries in the catalog
+    public static int size() {
+        return entries.length;
+    }
+
+    // EFFECTS: produce the id of the catalog entry matching item, or NO_ID if item is not in the catalog
+    public static int idOf(Equipment item) {
+        return idOf(item.getName(), item.getStrength(), item.getEndurance(), item.getDexterity(), item.getSpeed(),
+                item.getWorth());
+    }
+
+    // EFFECTS: produce the shared catalog entry matching item, or item itself if it is not in the catalog
+    public static Equipment intern(Equipment item) {
+        int id = idOf(item);
+        return id == NO_ID ? item : getEquipment(id);
+    }
+
+    // EFFECTS: produce the shared catalog entry with these values, or a new equipment with them if it is not in
+    //          the catalog
+    public static Equipment intern(String name, int str, int end, int dex, int spd, int worth) {
+        int id = idOf(name, str, end, dex, spd, worth);
+        return id == NO_ID ? new Equipment(name, str, end, dex, spd, worth) : getEquipment(id);
+    }
+
+    // EFFECTS: produce the id of the catalog entry with these values, or NO_ID if the catalog has no such entry
+    public static int idOf(String name, int str, int end, int dex, int spd, int worth) {
+        Integer id = idsByName.get(name);
+        if (id == null) {
+            return NO_ID;
+        }
+        Equipment e = entries[id];
+        if (e.getStrength() == str && e.getEndurance() == end && e.getDexterity() == dex
+                && e.getSpeed() == spd && e.getWorth() == worth) {
+            return id;
+        }
+        return NO_ID;
+    }
+}
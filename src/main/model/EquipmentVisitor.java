@@ -0,0 +1,14 @@
+package model;
+
+/**
+ * The EquipmentVisitor interface is called by Inventory.forEach once for every equipment in an inventory, in order,
+ * along with the index of that equipment. It lets callers walk an inventory without index bounds checks, the checked
+ * InvalidEquipmentException or an Iterator allocation.
+ *
+ * @author Arjun
+ */
+@FunctionalInterface
+public interface EquipmentVisitor {
+    // EFFECTS: handles the equipment stored at index
+    void visit(int index, Equipment item);
+}
@@ -0,0 +1,172 @@
+package model;
+
+import player.Character;
+
+import java.util.Arrays;
+
+/**
+ * The FightOdds class works out exactly how a fight between two characters is likely to go under the rules of the
+ * CombatEngine, without rolling anything.
+ *
+ * Since a hit always deals the same damage and lands with the same chance, a fight only depends on how many more hits
+ * each character needs to kill the other. The chance of winning and the expected length of the fight from every such
+ * state follow from the states one hit closer to the end, so they are worked out state by state, keeping only the
+ * previous row of states. That is proportional to the product of the hits each character needs, which stays fast
+ * for health in the thousands.
+ *
+ * @author Arjun
+ */
+public class FightOdds {
+    private final double firstHits;  // chance each attack of the character acting first hits
+    private final double secondHits;  // chance each attack of the character acting second hits
+    private final int firstNeeds;  // hits the character acting first needs to kill the other
+    private final int secondNeeds;  // hits the character acting second needs to kill the other
+    private final boolean playerFirst;  // true if the player acts first in each round
+    private double firstWins;  // chance the character acting first wins
+    private double expectedRounds;  // expected number of rounds the fight lasts
+
+    // REQUIRES: both characters are alive
+    // EFFECTS: works out the odds of player fighting enemy, where player is the first character given to the
+    //          CombatEngine, else throws IllegalArgumentException if neither of them can ever hit the other
+    public FightOdds(Character player, Character enemy) {
+        this.playerFirst = player.getSpeed() > enemy.getSpeed();
+        Character first = this.playerFirst ? player : enemy;
+        Character second = this.playerFirst ? enemy : player;
+        this.firstHits = CombatEngine.hitChance(first);
+        this.secondHits = CombatEngine.hitChance(second);
+        if (this.firstHits == 0 && this.secondHits == 0) {
+            throw new IllegalArgumentException("Neither character can ever hit the other.");
+        }
+        this.firstNeeds = hitsToKill(first, second);
+        this.secondNeeds = hitsToKill(second, first);
+        solve();
+    }
+
+    // EFFECTS: produce the chance that the player wins
+    public double getWinProbability() {
+        return this.playerFirst ? this.firstWins : 1 - this.firstWins;
+    }
+
+    // EFFECTS: produce the expected number of rounds the fight lasts
+    public double getExpectedRounds() {
+        return this.expectedRounds;
+    }
+
+    // REQUIRES: maxRounds >= 0
+    // EFFECTS: produce the chance of the fight ending in each round up to maxRounds, where element r is the chance
+    //          that it ends in round r (element 0 is always 0). The chance it lasts longer is 1 minus their sum.
+    public double[] getRoundDistribution(int maxRounds) {
+        return new RoundDistribution(maxRounds).compute();
+    }
+
+    // EFFECTS: produce the number of hits attacker needs to kill defender
+    private static int hitsToKill(Character attacker, Character defender) {
+        int damage = CombatEngine.damage(attacker, defender);
+        return (defender.getCurrentHealth() + damage - 1) / damage;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: works out the chance the first character wins and the expected rounds, row by row over the hits the
+    //          second character still needs, where each row is indexed by the hits the first character still needs
+    private void solve() {
+        double p = this.firstHits;
+        double q = this.secondHits;
+        double stay = 1 / (1 - (1 - p) * (1 - q));  // rounds where both miss change nothing
+        double[] winsBelow = new double[this.firstNeeds + 1];  // the row where the second needs one hit fewer
+        double[] roundsBelow = new double[this.firstNeeds + 1];
+        double[] wins = new double[this.firstNeeds + 1];
+        double[] rounds = new double[this.firstNeeds + 1];
+        for (int i = 1; i <= this.secondNeeds; i++) {
+            wins[0] = 0;  // the first character has already won, which is counted where the hit lands
+            rounds[0] = 0;
+            for (int j = 1; j <= this.firstNeeds; j++) {
+                double afterHit = j == 1 ? 1 : q * winsBelow[j - 1] + (1 - q) * wins[j - 1];
+                wins[j] = stay * (p * afterHit + (1 - p) * q * winsBelow[j]);
+                double roundsAfterHit = j == 1 ? 0 : q * roundsBelow[j - 1] + (1 - q) * rounds[j - 1];
+                rounds[j] = stay * (1 + p * roundsAfterHit + (1 - p) * q * roundsBelow[j]);
+            }
+            double[] swap = winsBelow;
+            winsBelow = wins;
+            wins = swap;
+            swap = roundsBelow;
+            roundsBelow = rounds;
+            rounds = swap;
+        }
+        this.firstWins = winsBelow[this.firstNeeds];
+        this.expectedRounds = roundsBelow[this.firstNeeds];
+    }
+
+    /**
+     * Spreads the chance of being in each state over the rounds, one round at a time. After r rounds each character
+     * has landed at most r hits, so only an r by r corner of the states is ever visited.
+     */
+    private class RoundDistribution {
+        private final int maxRounds;  // the last round worked out
+        private final int rows;  // hits the first character can take without the fight ending, plus one
+        private final int columns;  // hits the second character can take without the fight ending, plus one
+        private double[] chances;  // chances[a * columns + b] is the chance of a hits taken by first, b by second
+        private double[] next;  // the same for the next round
+
+        RoundDistribution(int maxRounds) {
+            this.maxRounds = maxRounds;
+            this.rows = Math.min(maxRounds, secondNeeds - 1) + 1;
+            this.columns = Math.min(maxRounds, firstNeeds - 1) + 1;
+            this.chances = new double[this.rows * this.columns];
+            this.next = new double[this.rows * this.columns];
+        }
+
+        // EFFECTS: produce the chance of the fight ending in each round up to maxRounds
+        double[] compute() {
+            double[] ends = new double[this.maxRounds + 1];
+            this.chances[0] = 1;
+            for (int round = 1; round <= this.maxRounds; round++) {
+                int lastRow = Math.min(round - 1, this.rows - 1);
+                int lastColumn = Math.min(round - 1, this.columns - 1);
+                for (int a = 0; a <= Math.min(round, this.rows - 1); a++) {
+                    Arrays.fill(this.next, a * this.columns,
+                            a * this.columns + Math.min(round, this.columns - 1) + 1, 0);
+                }
+                for (int a = 0; a <= lastRow; a++) {
+                    for (int b = 0; b <= lastColumn; b++) {
+                        ends[round] += step(a, b);
+                    }
+                }
+                double[] swap = this.chances;
+                this.chances = this.next;
+                this.next = swap;
+            }
+            return ends;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: spreads the chance of state (a, b) over the states after one round, and produces the part of it
+        //          where the fight ends in that round
+        private double step(int a, int b) {
+            double chance = this.chances[a * this.columns + b];
+            if (chance == 0) {
+                return 0;
+            }
+            double p = firstHits;
+            double q = secondHits;
+            double ended = 0;
+            if (b + 1 == firstNeeds) {
+                ended += chance * p;
+            } else {
+                ended += spread(a, b + 1, chance * p, q);
+            }
+            return ended + spread(a, b, chance * (1 - p), q);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: spreads chance over the second character hitting back (from a hits taken by the first, b by the
+        //          second) or missing, and produces the part of it where the fight ends
+        private double spread(int a, int b, double chance, double q) {
+            this.next[a * this.columns + b] += chance * (1 - q);
+            if (a + 1 == secondNeeds) {
+                return chance * q;
+            }
+            this.next[(a + 1) * this.columns + b] += chance * q;
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The FightReport class tallies the results of many simulated fights of one player build against one enemy. Besides
+ * the win rate, it keeps a histogram of how many rounds each win took and how much health the player had left, so
+ * means and percentiles of both can be produced exactly. Reports of separate batches of fights can be merged.
+ *
+ * @author Arjun
+ */
+public class FightReport {
+    private long fights;  // fights tallied
+    private long wins;  // fights the player won
+    private long totalRoundsToWin;  // rounds summed over every win
+    private long totalHealthRemaining;  // health the player had left, summed over every win
+    private long[] roundsToWin;  // roundsToWin[r] is the number of wins that took r rounds
+    private long[] healthRemaining;  // healthRemaining[hp] is the number of wins that left the player at hp
+
+    // EFFECTS: constructs an empty report
+    public FightReport() {
+        this.roundsToWin = new long[16];
+        this.healthRemaining = new long[16];
+    }
+
+    // REQUIRES: rounds > 0 and healthLeft >= 0
+    // MODIFIES: this
+    // EFFECTS: tallies one fight that took rounds rounds, which the player won with healthLeft health if won is true
+    void record(boolean won, int rounds, int healthLeft) {
+        this.fights++;
+        if (won) {
+            this.wins++;
+            this.totalRoundsToWin += rounds;
+            this.totalHealthRemaining += healthLeft;
+            this.roundsToWin = count(this.roundsToWin, rounds);
+            this.healthRemaining = count(this.healthRemaining, healthLeft);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds every fight tallied in other to this report
+    void merge(FightReport other) {
+        this.fights += other.fights;
+        this.wins += other.wins;
+        this.totalRoundsToWin += other.totalRoundsToWin;
+        this.totalHealthRemaining += other.totalHealthRemaining;
+        this.roundsToWin = add(this.roundsToWin, other.roundsToWin);
+        this.healthRemaining = add(this.healthRemaining, other.healthRemaining);
+    }
+
+    // EFFECTS: produce the number of fights tallied in this report
+    public long getFights() {
+        return this.fights;
+    }
+
+    // EFFECTS: produce the number of tallied fights the player won
+    public long getWins() {
+        return this.wins;
+    }
+
+    // EFFECTS: produce the fraction of fights the player won, or 0 if no fights were tallied
+    public double getWinRate() {
+        return this.fights == 0 ? 0 : (double) this.wins / this.fights;
+    }
+
+    // EFFECTS: produce the mean number of rounds the player's wins took, or 0 if the player never won
+    public double getMeanRoundsToWin() {
+        return this.wins == 0 ? 0 : (double) this.totalRoundsToWin / this.wins;
+    }
+
+    // EFFECTS: produce the mean health the player had left after a win, or 0 if the player never won
+    public double getMeanHealthRemaining() {
+        return this.wins == 0 ? 0 : (double) this.totalHealthRemaining / this.wins;
+    }
+
+    // REQUIRES: 0 <= percent <= 100
+    // EFFECTS: produce the fewest rounds that at least percent% of the player's wins took no more than, or 0 if the
+    //          player never won
+    public int getRoundsToWinPercentile(double percent) {
+        return percentile(this.roundsToWin, percent);
+    }
+
+    // REQUIRES: 0 <= percent <= 100
+    // EFFECTS: produce the least health that at least percent% of the player's wins ended with no more than, or 0 if
+    //          the player never won
+    public int getHealthRemainingPercentile(double percent) {
+        return percentile(this.healthRemaining, percent);
+    }
+
+    // EFFECTS: produce the smallest value whose cumulative count in histogram reaches percent% of the wins
+    private int percentile(long[] histogram, double percent) {
+        long target = Math.max(1, (long) Math.ceil(percent / 100 * this.wins));
+        long seen = 0;
+        for (int value = 0; value < histogram.length; value++) {
+            seen += histogram[value];
+            if (seen >= target) {
+                return value;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FightReport that = (FightReport) o;
+        return this.fights == that.fights && this.wins == that.wins
+                && this.totalRoundsToWin == that.totalRoundsToWin
+                && this.totalHealthRemaining == that.totalHealthRemaining
+                && Arrays.equals(trim(this.roundsToWin), trim(that.roundsToWin))
+                && Arrays.equals(trim(this.healthRemaining), trim(that.healthRemaining));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(this.fights) + Long.hashCode(this.wins);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d fights, %.2f%% won, %.1f rounds to win (p50 %d, p90 %d, p99 %d), "
+                        + "%.1f health left (p10 %d, p50 %d, p90 %d)",
+                this.fights, 100 * getWinRate(), getMeanRoundsToWin(), getRoundsToWinPercentile(50),
+                getRoundsToWinPercentile(90), getRoundsToWinPercentile(99), getMeanHealthRemaining(),
+                getHealthRemainingPercentile(10), getHealthRemainingPercentile(50), getHealthRemainingPercentile(90));
+    }
+
+    // MODIFIES: histogram
+    // EFFECTS: counts one more value in histogram, producing a longer copy if histogram is too short for value
+    private static long[] count(long[] histogram, int value) {
+        long[] counted = value < histogram.length ? histogram : Arrays.copyOf(histogram, 2 * value);
+        counted[value]++;
+        return counted;
+    }
+
+    // MODIFIES: histogram
+    // EFFECTS: adds every count in other to histogram, producing a longer copy if histogram is shorter than other
+    private static long[] add(long[] histogram, long[] other) {
+        long[] sum = other.length <= histogram.length ? histogram : Arrays.copyOf(histogram, other.length);
+        for (int i = 0; i < other.length; i++) {
+            sum[i] += other[i];
+        }
+        return sum;
+    }
+
+    // EFFECTS: produce histogram without its trailing zero counts
+    private static long[] trim(long[] histogram) {
+        int length = histogram.length;
+        while (length > 0 && histogram[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(histogram, length);
+    }
+}
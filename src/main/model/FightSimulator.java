@@ -0,0 +1,117 @@
+package model;
+
+import player.Character;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The FightSimulator class judges a player build by simulating many fights of it against arena enemies with the
+ * CombatEngine, and tallying the results in a FightReport.
+ *
+ * The fights are spread over a fork-join pool. A batch of fights is halved until each half is at most LEAF_FIGHTS
+ * fights, and each half gets its own stream of rolls split off from its parent's. Since how the batch is divided only
+ * depends on its size, every fight gets the same rolls no matter how many threads run them, so a seed always produces
+ * the same report.
+ *
+ * @author Arjun
+ */
+public class FightSimulator {
+    public static final int LEAF_FIGHTS = 4096;  // batches of at most this many fights are fought by a single task
+
+    private final long seed;  // where every stream of rolls comes from
+    private final ForkJoinPool pool;  // runs the fights
+
+    // EFFECTS: constructs a simulator rolling from seed, that fights on the common fork-join pool (every core)
+    public FightSimulator(long seed) {
+        this(seed, ForkJoinPool.commonPool());
+    }
+
+    // EFFECTS: constructs a simulator rolling from seed, that fights on pool
+    public FightSimulator(long seed, ForkJoinPool pool) {
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    // REQUIRES: fights >= 0, and player and enemy are alive
+    // EFFECTS: fights copies of player against copies of enemy fights times, and produces the report of player's
+    //          results. Neither player nor enemy are changed.
+    public FightReport simulate(Character player, Character enemy, int fights) {
+        return simulate(player, enemy, fights, new GameRandom(this.seed));
+    }
+
+    // REQUIRES: fightsPerEnemy >= 0, and player is alive
+    // EFFECTS: fights copies of player against each arena enemy fightsPerEnemy times, and produces the reports of
+    //          player's results, where report i is against the enemy of level i + 1
+    public FightReport[] simulateArena(Character player, int fightsPerEnemy) {
+        GameRandom random = new GameRandom(this.seed);
+        FightReport[] reports = new FightReport[ArenaRoster.NUMBER_OF_LEVELS];
+        for (int level = 1; level <= reports.length; level++) {
+            reports[level - 1] = simulate(player, ArenaRoster.enemyFor(level), fightsPerEnemy, random.split());
+        }
+        return reports;
+    }
+
+    // EFFECTS: fights copies of player against copies of enemy fights times on the pool, rolling from random
+    private FightReport simulate(Character player, Character enemy, int fights, GameRandom random) {
+        // A snapshot starts out with its inventory marked as shared, so the tasks taking snapshots of these
+        // templates only read them and never write to a template from a worker thread
+        Character playerTemplate = player.snapshot();
+        Character enemyTemplate = enemy.snapshot();
+        return this.pool.invoke(new Batch(playerTemplate, enemyTemplate, fights, random));
+    }
+
+    // MODIFIES: player, enemy
+    // EFFECTS: fights player against enemy until one of them dies, and tallies the result in report
+    private static void fight(CombatEngine engine, Character player, Character enemy, FightReport report) {
+        int rounds = 1;
+        Character winner = engine.round(player, enemy);
+        while (winner == null) {
+            rounds++;
+            winner = engine.round(player, enemy);
+        }
+        report.record(winner == player, rounds, player.getCurrentHealth());
+    }
+
+    /**
+     * A batch of fights, that halves itself until it is small enough to fight alone.
+     */
+    private static class Batch extends RecursiveTask<FightReport> {
+        private static final long serialVersionUID = 1L;
+
+        private final Character player;  // copied for every fight
+        private final Character enemy;  // copied for every fight
+        private final int fights;  // the number of fights in this batch
+        private final GameRandom random;  // the rolls of this batch
+
+        Batch(Character player, Character enemy, int fights, GameRandom random) {
+            this.player = player;
+            this.enemy = enemy;
+            this.fights = fights;
+            this.random = random;
+        }
+
+        @Override
+        protected FightReport compute() {
+            if (this.fights <= LEAF_FIGHTS) {
+                return fightAll();
+            }
+            int half = this.fights / 2;
+            Batch second = new Batch(this.player, this.enemy, this.fights - half, this.random.split());
+            second.fork();
+            FightReport report = new Batch(this.player, this.enemy, half, this.random).compute();
+            report.merge(second.join());
+            return report;
+        }
+
+        // EFFECTS: fights every fight of this batch on the current thread
+        private FightReport fightAll() {
+            CombatEngine engine = new CombatEngine(this.random);
+            FightReport report = new FightReport();
+            for (int i = 0; i < this.fights; i++) {
+                fight(engine, this.player.snapshot(), this.enemy.snapshot(), report);
+            }
+            return report;
+        }
+    }
+}
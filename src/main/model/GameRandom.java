@@ -0,0 +1,58 @@
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * The GameRandom class is where every roll of the game comes from: shop stock, hit rolls and anything else left to
+ * chance. A game holds one and passes it to whatever needs to roll, instead of making a new java.util.Random for each
+ * roll. Giving it a seed makes every roll of a game, and so the whole game, repeatable.
+ *
+ * It is backed by a SplittableRandom, so it is fast but not safe to share between threads. Work that runs on several
+ * threads gives each of them its own stream with split(), which is still determined by the seed.
+ *
+ * @author Arjun
+ */
+public class GameRandom {
+    private final SplittableRandom random;  // produces the rolls
+
+    // EFFECTS: constructs a random source with an unpredictable seed
+    public GameRandom() {
+        this(new SplittableRandom());
+    }
+
+    // EFFECTS: constructs a random source that always produces the same rolls for the same seed
+    public GameRandom(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    // EFFECTS: constructs a random source taking its rolls from random
+    private GameRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    // REQUIRES: bound > 0
+    // MODIFIES: this
+    // EFFECTS: produce a random integer from [0, bound)
+    public int nextInt(int bound) {
+        return this.random.nextInt(bound);
+    }
+
+    // REQUIRES: upperbound >= 0
+    // MODIFIES: this
+    // EFFECTS: produce a random integer from [0, upperbound] inclusive
+    public int roll(int upperbound) {
+        return nextInt(upperbound + 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce a random seed, for starting a GameRandom whose rolls can be replayed later
+    public long nextSeed() {
+        return this.random.nextLong();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce a new random source, independent of this one, for use on another thread
+    public GameRandom split() {
+        return new GameRandom(this.random.split());
+    }
+}
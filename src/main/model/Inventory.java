@@ -3,7 +3,16 @@ package model;
 import exceptions.InvalidEquipmentException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
 
 /**
  * The Inventory class represents a collection of Equipment objects. An inventory can have as few as
@@ -11,23 +20,59 @@ import java.util.List;
  * removing equipment and getting the number of Equipment in an inventory. There are also methods to get the summation
  * of certain Equipment values of an inventory, like strength, endurance, dexterity or gold.
  *
+ * The stat totals are kept as a running sum, packed into the two halves of a StatTotals, that is updated whenever
+ * equipment is added or removed, so reading them does not require walking the whole inventory. Adding an equipment
+ * updates all four totals with two packed additions and creates no objects; a StatTotals is only built when asked
+ * for. A consistency check mode can be turned on (mainly for
+ * tests) that recomputes the totals from scratch after every change and compares them against the running sum.
+ *
+ * Many equipment can be added or removed at once with addAll, removeAll and removeIf. Bulk removals compact the
+ * storage in a single pass and update the totals once, instead of shifting the inventory once per removed item.
+ *
+ * Equipment can also be queried by name, by the best value of a Stat, or as the top K items under any ordering.
+ * The indexes behind these queries are only built when first needed. Adding equipment keeps them up to date, while
+ * removing equipment throws them away so they are rebuilt by the next query.
+ *
+ * An inventory also tracks how it has changed since its last checkpoint, so a save can write only the changes. New
+ * equipment always goes to the end, so the inventory is always the equipment that survived since the checkpoint (in
+ * order) followed by the equipment added since; only the checkpoint positions of the removed equipment are recorded.
+ *
+ * A snapshot of an inventory is a copy that shares the stored equipment with the original until either of them is
+ * changed, at which point the changed one copies the storage first (copy-on-write). Taking a snapshot is O(1).
+ *
+ * Subclasses may replace how equipment is stored by overriding the protected storage methods (equipmentAt, store,
+ * unstore, compact and getInventorySize) and snapshot; the bounds checks and running totals are handled here.
+ *
  * @author Arjun
  */
 
 // Represents all the equipment currently owned by a player (their inventory of equipment)
 public class Inventory {
-    private final List<Equipment> equipment;
+    private static final Stat[] STATS = Stat.values();
+
+    private List<Equipment> equipment;
+    private boolean shared;  // true while equipment may also be used by a snapshot, so it is copied before a change
+    private long totalsLow;  // running sum of the strength and endurance modifiers, as a StatTotals low half
+    private long totalsHigh;  // running sum of the dexterity and speed modifiers, as a StatTotals high half
+    private StatTotals totals;  // the running sums as a StatTotals, or null if not built since they last changed
+    private boolean consistencyChecking;  // when true, totals are recomputed and compared after every change
+    private Map<String, List<Integer>> nameIndex;  // indices of the equipment with each name, or null if not built
+    private int[] bestIndex;  // index of the best equipment for each Stat (-1 if empty), or null if not built
+    private int checkpointSize;  // the number of equipment in the inventory at the last checkpoint
+    private BitSet removedSinceCheckpoint;  // checkpoint positions of the equipment removed since the checkpoint
+    private int survivors;  // the number of checkpoint equipment still in the inventory, which come before any added
 
     // EFFECTS: constructs an empty inventory
     public Inventory() {
         this.equipment = new ArrayList<>();
+        this.removedSinceCheckpoint = new BitSet();
     }
 
 
     // EFFECTS: produce a specific equipment at a specified index, else throws InvalidEquipmentException if unable to
     public Equipment getEquipment(int index) throws InvalidEquipmentException {
         if (0 <= index && index < getInventorySize()) {
-            return this.equipment.get(index);
+            return equipmentAt(index);
         } else {
             throw new InvalidEquipmentException("That equipment is out of bounds.");
         }
@@ -35,38 +80,31 @@ public class Inventory {
 
     // EFFECTS: produce the total strength modification value from elements in the Inventory
     public int getTotalStrength() {
-        int strength = 0;
-        for (Equipment equipment : this.equipment) {
-            strength += equipment.getStrength();
-        }
-        return strength;
+        return StatTotals.lowerOf(this.totalsLow);
     }
 
     // EFFECTS: produce the total endurance modification value from elements in the Inventory
     public int getTotalEndurance() {
-        int endurance = 0;
-        for (Equipment equipment : this.equipment) {
-            endurance += equipment.getEndurance();
-        }
-        return endurance;
+        return StatTotals.upperOf(this.totalsLow);
     }
 
     // EFFECTS: produce the total dexterity modification value from elements in the Inventory
     public int getTotalDexterity() {
-        int dexterity = 0;
-        for (Equipment equipment : this.equipment) {
-            dexterity += equipment.getDexterity();
-        }
-        return dexterity;
+        return StatTotals.lowerOf(this.totalsHigh);
     }
 
     // EFFECTS: produce the total speed modification value from elements in the Inventory
     public int getTotalSpeed() {
-        int speed = 0;
-        for (Equipment equipment : this.equipment) {
-            speed += equipment.getSpeed();
+        return StatTotals.upperOf(this.totalsHigh);
+    }
+
+    // EFFECTS: produce the total of every stat modifier from elements in the Inventory (a new StatTotals object
+    //          whenever the totals change)
+    public StatTotals getTotalStats() {
+        if (this.totals == null) {
+            this.totals = StatTotals.fromHalves(this.totalsLow, this.totalsHigh);
         }
-        return speed;
+        return this.totals;
     }
 
     // EFFECTS: produce the size of an inventory (number of items in it)
@@ -75,20 +113,384 @@ public class Inventory {
     }
 
     // MODIFIES: this
-    // EFFECTS: adds a new equipment to the inventory of equipment
+    // EFFECTS: adds a new equipment to the inventory of equipment, else throws ArithmeticException (and adds
+    //          nothing) if a stat total would overflow
     public void addEquipment(Equipment item) {
-        this.equipment.add(item);
+        long low = StatTotals.addHalves(this.totalsLow, item.getLowHalf());
+        long high = StatTotals.addHalves(this.totalsHigh, item.getHighHalf());
+        store(item);
+        setTotals(low, high);
+        indexAdded(item, getInventorySize() - 1);
     }
 
     // MODIFIES: this
     // EFFECTS: remove an equipment from an Inventory if it is in the Inventory, else throw InvalidEquipmentException
     public void removeEquipment(int index) throws InvalidEquipmentException {
         if (0 <= index && index < getInventorySize()) {
-            this.equipment.remove(index);
+            trackRemoved(index);
+            Equipment removed = unstore(index);
+            setTotals(StatTotals.subtractHalves(this.totalsLow, removed.getLowHalf()),
+                    StatTotals.subtractHalves(this.totalsHigh, removed.getHighHalf()));
+            invalidateIndexes();
         } else {
             throw new InvalidEquipmentException("That equipment is out of bounds.");
         }
     }
 
+    // MODIFIES: this
+    // EFFECTS: adds every equipment in items to the end of the inventory, in iteration order, else throws
+    //          ArithmeticException (and adds nothing) if a stat total would overflow
+    public void addAll(Collection<Equipment> items) {
+        long low = this.totalsLow;
+        long high = this.totalsHigh;
+        for (Equipment item : items) {
+            low = StatTotals.addHalves(low, item.getLowHalf());
+            high = StatTotals.addHalves(high, item.getHighHalf());
+        }
+        for (Equipment item : items) {
+            store(item);
+            indexAdded(item, getInventorySize() - 1);
+        }
+        setTotals(low, high);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the equipment at every index in indices (repeated indices are removed once) in a single pass,
+    //          else throws InvalidEquipmentException and removes nothing if any index is out of bounds
+    public void removeAll(int[] indices) throws InvalidEquipmentException {
+        for (int index : indices) {
+            if (index < 0 || index >= getInventorySize()) {
+                throw new InvalidEquipmentException("That equipment is out of bounds.");
+            }
+        }
+        boolean[] removed = new boolean[getInventorySize()];
+        for (int index : indices) {
+            removed[index] = true;
+        }
+        removeMarked(removed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every equipment that satisfies filter in a single pass, and produces the number removed
+    public int removeIf(Predicate<Equipment> filter) {
+        boolean[] removed = new boolean[getInventorySize()];
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = filter.test(equipmentAt(i));
+        }
+        return removeMarked(removed);
+    }
+
+    // EFFECTS: calls visitor with every equipment in the inventory and its index, in inventory order
+    public void forEach(EquipmentVisitor visitor) {
+        int size = getInventorySize();
+        for (int i = 0; i < size; i++) {
+            visitor.visit(i, equipmentAt(i));
+        }
+    }
+
+    // EFFECTS: calls visitor with the stat modifiers and worth of every equipment in the inventory and its index, in
+    //          inventory order
+    public void forEachStats(StatVisitor visitor) {
+        int size = getInventorySize();
+        for (int i = 0; i < size; i++) {
+            Equipment item = equipmentAt(i);
+            visitor.visit(i, item.getStrength(), item.getEndurance(), item.getDexterity(), item.getSpeed(),
+                    item.getWorth());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce every equipment with the given name, in inventory order
+    public List<Equipment> findByName(String name) {
+        List<Integer> indices = getNameIndex().get(name);
+        if (indices == null) {
+            return Collections.emptyList();
+        }
+        List<Equipment> found = new ArrayList<>(indices.size());
+        for (int index : indices) {
+            found.add(equipmentAt(index));
+        }
+        return found;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce the number of equipment with the given name
+    public int countBy(String name) {
+        List<Integer> indices = getNameIndex().get(name);
+        return indices == null ? 0 : indices.size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce the first equipment with the highest value of stat, or null if the inventory is empty
+    public Equipment bestBy(Stat stat) {
+        if (this.bestIndex == null) {
+            this.bestIndex = new int[STATS.length];
+            Arrays.fill(this.bestIndex, -1);
+            for (int i = 0; i < getInventorySize(); i++) {
+                updateBest(equipmentAt(i), i);
+            }
+        }
+        int index = this.bestIndex[stat.ordinal()];
+        return index < 0 ? null : equipmentAt(index);
+    }
+
+    // REQUIRES: k >= 0
+    // EFFECTS: produce the k greatest equipment under comparator (or all of them if there are fewer than k),
+    //          ordered from greatest to least
+    public List<Equipment> topK(Comparator<Equipment> comparator, int k) {
+        PriorityQueue<Equipment> best = new PriorityQueue<>(Math.max(1, k), comparator);  // the least is on top
+        for (int i = 0; i < getInventorySize() && k > 0; i++) {
+            Equipment item = equipmentAt(i);
+            if (best.size() < k) {
+                best.add(item);
+            } else if (comparator.compare(item, best.peek()) > 0) {
+                best.poll();
+                best.add(item);
+            }
+        }
+        List<Equipment> top = new ArrayList<>(best);
+        top.sort(comparator.reversed());
+        return top;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: turns the consistency check mode on or off. While on, every change to the inventory recomputes the
+    //          totals from scratch and throws IllegalStateException if they differ from the running totals
+    public void setConsistencyChecking(boolean consistencyChecking) {
+        this.consistencyChecking = consistencyChecking;
+        verifyTotals();
+    }
+
+    // EFFECTS: returns true if the running totals match the totals recomputed from every equipment in the inventory
+    public boolean totalsAreConsistent() {
+        long low = 0L;
+        long high = 0L;
+        for (int i = 0; i < getInventorySize(); i++) {
+            low = StatTotals.addHalves(low, equipmentAt(i).getLowHalf());
+            high = StatTotals.addHalves(high, equipmentAt(i).getHighHalf());
+        }
+        return low == this.totalsLow && high == this.totalsHigh;
+    }
+
+    // EFFECTS: returns true if any equipment has been added or removed since the last checkpoint
+    public boolean hasChangedSinceCheckpoint() {
+        return this.survivors != this.checkpointSize || this.survivors != getInventorySize();
+    }
+
+    // EFFECTS: produce the positions (in the inventory as it was at the last checkpoint, ascending) of the equipment
+    //          removed since the last checkpoint
+    public int[] getRemovedSinceCheckpoint() {
+        return this.removedSinceCheckpoint.stream().toArray();
+    }
+
+    // EFFECTS: produce the equipment added since the last checkpoint (and not removed again), in inventory order
+    public List<Equipment> getAddedSinceCheckpoint() {
+        List<Equipment> added = new ArrayList<>(getInventorySize() - this.survivors);
+        for (int i = this.survivors; i < getInventorySize(); i++) {
+            added.add(equipmentAt(i));
+        }
+        return added;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes the current equipment the checkpoint, forgetting every change made before now
+    public void checkpoint() {
+        this.checkpointSize = getInventorySize();
+        this.survivors = this.checkpointSize;
+        this.removedSinceCheckpoint.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce a copy of the inventory that shares its stored equipment until either of them changes. This
+    //          is only marked as shared if it is not already, so snapshots of a shared inventory only read it and
+    //          may be taken by many threads at once
+    public Inventory snapshot() {
+        Inventory copy = new Inventory();
+        copy.equipment = this.equipment;
+        copy.shared = true;
+        if (!this.shared) {
+            this.shared = true;
+        }
+        copyStateTo(copy);
+        return copy;
+    }
+
+    // MODIFIES: copy
+    // EFFECTS: gives copy the totals, consistency checking mode and change tracking of this inventory
+    protected final void copyStateTo(Inventory copy) {
+        copy.totalsLow = this.totalsLow;
+        copy.totalsHigh = this.totalsHigh;
+        copy.totals = this.totals;
+        copy.consistencyChecking = this.consistencyChecking;
+        copy.checkpointSize = this.checkpointSize;
+        copy.survivors = this.survivors;
+        copy.removedSinceCheckpoint = (BitSet) this.removedSinceCheckpoint.clone();
+    }
+
+    // REQUIRES: 0 <= index < getInventorySize()
+    // EFFECTS: produce the equipment stored at index
+    protected Equipment equipmentAt(int index) {
+        return this.equipment.get(index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends item to the end of the underlying storage
+    protected void store(Equipment item) {
+        ownStorage();
+        this.equipment.add(item);
+    }
+
+    // REQUIRES: 0 <= index < getInventorySize()
+    // MODIFIES: this
+    // EFFECTS: removes the equipment stored at index from the underlying storage and produces it
+    protected Equipment unstore(int index) {
+        ownStorage();
+        return this.equipment.remove(index);
+    }
+
+    // REQUIRES: removed.length == getInventorySize()
+    // MODIFIES: this
+    // EFFECTS: removes every equipment whose index is marked in removed, keeping the rest in order, in one pass
+    protected void compact(boolean[] removed) {
+        ownStorage();
+        int kept = 0;
+        for (int i = 0; i < removed.length; i++) {
+            if (!removed[i]) {
+                this.equipment.set(kept, this.equipment.get(i));
+                kept++;
+            }
+        }
+        this.equipment.subList(kept, removed.length).clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: copies the stored equipment if it may be shared with a snapshot, so it can be changed
+    private void ownStorage() {
+        if (this.shared) {
+            this.equipment = new ArrayList<>(this.equipment);
+            this.shared = false;
+        }
+    }
+
+    // REQUIRES: removed.length == getInventorySize()
+    // MODIFIES: this
+    // EFFECTS: removes every marked equipment, updates the totals once and produces the number removed
+    private int removeMarked(boolean[] removed) {
+        int count = 0;
+        long low = this.totalsLow;
+        long high = this.totalsHigh;
+        for (int i = 0; i < removed.length; i++) {
+            if (removed[i]) {
+                low = StatTotals.subtractHalves(low, equipmentAt(i).getLowHalf());
+                high = StatTotals.subtractHalves(high, equipmentAt(i).getHighHalf());
+                count++;
+            }
+        }
+        if (count > 0) {
+            trackRemoved(removed);
+            compact(removed);
+            invalidateIndexes();
+            setTotals(low, high);
+        }
+        return count;
+    }
+
+    // REQUIRES: 0 <= index < getInventorySize(), and the equipment at index has not been unstored yet
+    // MODIFIES: this
+    // EFFECTS: records the removal of the equipment at index, if it was there at the last checkpoint
+    private void trackRemoved(int index) {
+        if (index < this.survivors) {
+            int position = -1;
+            for (int i = 0; i <= index; i++) {  // the index-th survivor is the index-th position not yet removed
+                position = this.removedSinceCheckpoint.nextClearBit(position + 1);
+            }
+            this.removedSinceCheckpoint.set(position);
+            this.survivors--;
+        }
+    }
+
+    // REQUIRES: removed.length == getInventorySize(), and the marked equipment has not been compacted away yet
+    // MODIFIES: this
+    // EFFECTS: records the removal of every marked equipment that was there at the last checkpoint
+    private void trackRemoved(boolean[] removed) {
+        int position = -1;
+        int survived = this.survivors;
+        for (int i = 0; i < this.survivors; i++) {
+            position = this.removedSinceCheckpoint.nextClearBit(position + 1);
+            if (removed[i]) {
+                this.removedSinceCheckpoint.set(position);
+                survived--;
+            }
+        }
+        this.survivors = survived;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the running totals with the packed halves low and high, then checks them if consistency
+    //          checking is on
+    private void setTotals(long low, long high) {
+        this.totalsLow = low;
+        this.totalsHigh = high;
+        this.totals = null;
+        verifyTotals();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce the index of equipment by name, building it if it was thrown away
+    private Map<String, List<Integer>> getNameIndex() {
+        if (this.nameIndex == null) {
+            this.nameIndex = new HashMap<>();
+            for (int i = 0; i < getInventorySize(); i++) {
+                addToNameIndex(equipmentAt(i).getName(), i);
+            }
+        }
+        return this.nameIndex;
+    }
 
+    // MODIFIES: this
+    // EFFECTS: records that the equipment at index has the given name
+    private void addToNameIndex(String name, int index) {
+        List<Integer> indices = this.nameIndex.get(name);
+        if (indices == null) {
+            indices = new ArrayList<>();
+            this.nameIndex.put(name, indices);
+        }
+        indices.add(index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the best equipment of every stat that item (stored at index) beats
+    private void updateBest(Equipment item, int index) {
+        for (Stat stat : STATS) {
+            int best = this.bestIndex[stat.ordinal()];
+            if (best < 0 || stat.of(item) > stat.of(equipmentAt(best))) {
+                this.bestIndex[stat.ordinal()] = index;
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the equipment just stored at index to any index that has been built
+    private void indexAdded(Equipment item, int index) {
+        if (this.nameIndex != null) {
+            addToNameIndex(item.getName(), index);
+        }
+        if (this.bestIndex != null) {
+            updateBest(item, index);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: throws away every index, since the positions they refer to are no longer valid
+    private void invalidateIndexes() {
+        this.nameIndex = null;
+        this.bestIndex = null;
+    }
+
+    // EFFECTS: if consistency checking is on, throws IllegalStateException when the running totals are out of sync
+    private void verifyTotals() {
+        if (this.consistencyChecking && !totalsAreConsistent()) {
+            throw new IllegalStateException("Inventory totals are out of sync with the equipment they hold.");
+        }
+    }
 }
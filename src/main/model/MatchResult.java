@@ -0,0 +1,52 @@
+package model;
+
+/**
+ * The MatchResult class is the outcome of one best-of-N match of a Tournament, between two entrants referred to by
+ * their index in the tournament.
+ *
+ * @author Arjun
+ */
+public final class MatchResult {
+    private final int first;  // index of the first entrant
+    private final int second;  // index of the second entrant
+    private final int firstWins;  // fights of the match won by the first entrant
+    private final int secondWins;  // fights of the match won by the second entrant
+
+    // EFFECTS: constructs the result of a match where first won firstWins fights and second won secondWins
+    public MatchResult(int first, int second, int firstWins, int secondWins) {
+        this.first = first;
+        this.second = second;
+        this.firstWins = firstWins;
+        this.secondWins = secondWins;
+    }
+
+    // EFFECTS: produce the index of the first entrant
+    public int getFirst() {
+        return this.first;
+    }
+
+    // EFFECTS: produce the index of the second entrant
+    public int getSecond() {
+        return this.second;
+    }
+
+    // EFFECTS: produce the number of fights of the match won by the first entrant
+    public int getFirstWins() {
+        return this.firstWins;
+    }
+
+    // EFFECTS: produce the number of fights of the match won by the second entrant
+    public int getSecondWins() {
+        return this.secondWins;
+    }
+
+    // EFFECTS: produce the index of the entrant that won more fights
+    public int getWinner() {
+        return this.firstWins > this.secondWins ? this.first : this.second;
+    }
+
+    // EFFECTS: produce the index of the entrant that won fewer fights
+    public int getLoser() {
+        return this.firstWins > this.secondWins ? this.second : this.first;
+    }
+}
@@ -0,0 +1,219 @@
+package model;
+
+import exceptions.InvalidEquipmentException;
+
+import java.util.function.Consumer;
+
+/**
+ * The PersistentInventory class is an immutable collection of Equipment. Adding or removing equipment does not change
+ * an inventory, but produces a new version of it, so any version can be kept as a snapshot (for replays or what-if
+ * previews) simply by holding on to it, which costs nothing.
+ *
+ * The equipment are stored in a balanced (AVL) tree ordered by position, where every node also knows the size and
+ * stat totals of its subtree. A new version only copies the O(log n) nodes on the path to the change and shares every
+ * other node with the version it came from, so memory grows with the number of edits rather than with the number of
+ * snapshots. Getting an equipment is O(log n) and every total is O(1).
+ *
+ * @author Arjun
+ */
+public final class PersistentInventory {
+    private static final PersistentInventory EMPTY = new PersistentInventory(null);
+
+    private final Node root;  // the root of the tree, or null if the inventory is empty
+
+    // EFFECTS: constructs an inventory with the given tree
+    private PersistentInventory(Node root) {
+        this.root = root;
+    }
+
+    // EFFECTS: produce an empty inventory
+    public static PersistentInventory empty() {
+        return EMPTY;
+    }
+
+    // EFFECTS: produce a persistent inventory holding the same equipment as inventory, in the same order
+    public static PersistentInventory copyOf(Inventory inventory) {
+        Equipment[] items = new Equipment[inventory.getInventorySize()];
+        for (int i = 0; i < items.length; i++) {
+            try {
+                items[i] = inventory.getEquipment(i);
+            } catch (InvalidEquipmentException e) {
+                throw new IllegalStateException(e);  // cannot happen, every index is in bounds
+            }
+        }
+        return new PersistentInventory(build(items, 0, items.length));
+    }
+
+    // EFFECTS: produce a specific equipment at a specified index, else throws InvalidEquipmentException if unable to
+    public Equipment getEquipment(int index) throws InvalidEquipmentException {
+        if (index < 0 || index >= getInventorySize()) {
+            throw new InvalidEquipmentException("That equipment is out of bounds.");
+        }
+        Node node = this.root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.item;
+            }
+        }
+    }
+
+    // EFFECTS: produce the size of an inventory (number of items in it)
+    public int getInventorySize() {
+        return size(this.root);
+    }
+
+    // EFFECTS: produce the total strength modification value from elements in the Inventory
+    public int getTotalStrength() {
+        return getTotalStats().getStrength();
+    }
+
+    // EFFECTS: produce the total endurance modification value from elements in the Inventory
+    public int getTotalEndurance() {
+        return getTotalStats().getEndurance();
+    }
+
+    // EFFECTS: produce the total dexterity modification value from elements in the Inventory
+    public int getTotalDexterity() {
+        return getTotalStats().getDexterity();
+    }
+
+    // EFFECTS: produce the total speed modification value from elements in the Inventory
+    public int getTotalSpeed() {
+        return getTotalStats().getSpeed();
+    }
+
+    // EFFECTS: produce the total of every stat modifier from elements in the Inventory
+    public StatTotals getTotalStats() {
+        return stats(this.root);
+    }
+
+    // EFFECTS: produce a new version of this inventory with item added to the end
+    public PersistentInventory addEquipment(Equipment item) {
+        return new PersistentInventory(insertLast(this.root, item));
+    }
+
+    // EFFECTS: produce a new version of this inventory without the equipment at index, else throws
+    //          InvalidEquipmentException if index is out of bounds
+    public PersistentInventory removeEquipment(int index) throws InvalidEquipmentException {
+        if (index < 0 || index >= getInventorySize()) {
+            throw new InvalidEquipmentException("That equipment is out of bounds.");
+        }
+        return new PersistentInventory(remove(this.root, index));
+    }
+
+    // EFFECTS: calls action on every equipment in the inventory, in order
+    public void forEach(Consumer<Equipment> action) {
+        forEach(this.root, action);
+    }
+
+    // EFFECTS: calls action on every equipment under node, in order
+    private static void forEach(Node node, Consumer<Equipment> action) {
+        while (node != null) {
+            forEach(node.left, action);
+            action.accept(node.item);
+            node = node.right;
+        }
+    }
+
+    // EFFECTS: produce a balanced tree holding items[from, to) in order
+    private static Node build(Equipment[] items, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node(build(items, from, middle), items[middle], build(items, middle + 1, to));
+    }
+
+    // EFFECTS: produce a copy of the tree under node with item added after every other item
+    private static Node insertLast(Node node, Equipment item) {
+        if (node == null) {
+            return new Node(null, item, null);
+        }
+        return balance(node.left, node.item, insertLast(node.right, item));
+    }
+
+    // REQUIRES: 0 <= index < size(node)
+    // EFFECTS: produce a copy of the tree under node without the item at index
+    private static Node remove(Node node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return balance(remove(node.left, index), node.item, node.right);
+        } else if (index > leftSize) {
+            return balance(node.left, node.item, remove(node.right, index - leftSize - 1));
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+        Node first = node.right;  // replace this node's item with the first item to its right
+        while (first.left != null) {
+            first = first.left;
+        }
+        return balance(node.left, first.item, remove(node.right, 0));
+    }
+
+    // REQUIRES: left and right are balanced, and their heights differ by at most 2
+    // EFFECTS: produce a balanced tree holding left, then item, then right
+    private static Node balance(Node left, Equipment item, Node right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node(left.left, left.item, new Node(left.right, item, right));
+            }
+            Node pivot = left.right;
+            return new Node(new Node(left.left, left.item, pivot.left), pivot.item,
+                    new Node(pivot.right, item, right));
+        } else if (difference < -1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node(new Node(left, item, right.left), right.item, right.right);
+            }
+            Node pivot = right.left;
+            return new Node(new Node(left, item, pivot.left), pivot.item,
+                    new Node(pivot.right, right.item, right.right));
+        }
+        return new Node(left, item, right);
+    }
+
+    // EFFECTS: produce the number of items under node
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // EFFECTS: produce the stat totals of the items under node
+    private static StatTotals stats(Node node) {
+        return node == null ? StatTotals.ZERO : node.stats;
+    }
+
+    // EFFECTS: produce the height of the tree under node
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * A Node is one immutable node of the tree, holding one equipment and the size, height and totals of its subtree.
+     */
+    private static final class Node {
+        private final Node left;
+        private final Equipment item;
+        private final Node right;
+        private final int size;
+        private final int height;
+        private final StatTotals stats;  // the total of every item in this subtree
+
+        // EFFECTS: constructs a node holding item between the trees left and right
+        private Node(Node left, Equipment item, Node right) {
+            this.left = left;
+            this.item = item;
+            this.right = right;
+            this.size = size(left) + 1 + size(right);
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.stats = stats(left).plus(item).plus(stats(right));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package model;
+
+import player.Character;
+
+import java.util.Arrays;
+
+/**
+ * The ShopOptimizer class chooses what an automated player should buy from a shop. Given the equipment for sale and
+ * a budget of gold, it finds the set of equipment whose total worth fits in the budget and whose total score is as
+ * high as possible, where the score of an equipment is a weighted sum of its stat modifiers (a 0/1 knapsack).
+ *
+ * The knapsack is solved with dynamic programming over the budget. Before solving, every worth and the budget are
+ * divided by the greatest common divisor of the worths (the shop's prices are all multiples of 25), which shrinks the
+ * table by that factor. The table and the record of which items were taken are kept between calls and only grown when
+ * a larger problem needs them, so repeated calls do not allocate. Because of that, one optimizer must not be used by
+ * several threads at once.
+ *
+ * @author Arjun
+ */
+public class ShopOptimizer {
+    private final long strengthWeight;  // how much one point of each stat is worth in the score of an equipment
+    private final long enduranceWeight;
+    private final long dexterityWeight;
+    private final long speedWeight;
+
+    private long[] best;  // best[c] is the best score found so far that costs at most c (scaled) gold
+    private long[] taken;  // a bit for every (item, c): whether item is taken in the best choice costing at most c
+
+    // EFFECTS: constructs an optimizer scoring equipment by the weighted sum of their stat modifiers
+    public ShopOptimizer(int strengthWeight, int enduranceWeight, int dexterityWeight, int speedWeight) {
+        this.strengthWeight = strengthWeight;
+        this.enduranceWeight = enduranceWeight;
+        this.dexterityWeight = dexterityWeight;
+        this.speedWeight = speedWeight;
+        this.best = new long[0];
+        this.taken = new long[0];
+    }
+
+    // EFFECTS: produce the score of an equipment
+    public long score(Equipment item) {
+        return this.strengthWeight * item.getStrength() + this.enduranceWeight * item.getEndurance()
+                + this.dexterityWeight * item.getDexterity() + this.speedWeight * item.getSpeed();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce the indices (in increasing order) of the shop equipment the buyer should buy with all of
+    //          their gold
+    public int[] optimize(Character buyer, Inventory shop) {
+        return optimize(shop, buyer.getGold());
+    }
+
+    // REQUIRES: budget >= 0
+    // MODIFIES: this
+    // EFFECTS: produce the indices (in increasing order) of the shop equipment with the highest total score whose
+    //          total worth is at most budget. Equipment with a score of 0 or less is never bought
+    public int[] optimize(Inventory shop, int budget) {
+        int size = shop.getInventorySize();
+        int[] candidates = new int[size];  // indices of the equipment worth considering
+        int count = 0;
+        int divisor = 0;
+        for (int i = 0; i < size; i++) {
+            Equipment item = shop.equipmentAt(i);
+            if (score(item) > 0 && item.getWorth() <= budget) {
+                candidates[count++] = i;
+                divisor = gcd(divisor, item.getWorth());
+            }
+        }
+        divisor = Math.max(divisor, 1);  // every candidate may be free
+        int capacity = budget / divisor;
+        fill(shop, candidates, count, divisor, capacity);
+        return choose(shop, candidates, count, divisor, capacity);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fills the table of best scores for every scaled budget up to capacity, recording which items are taken
+    private void fill(Inventory shop, int[] candidates, int count, int divisor, int capacity) {
+        prepareBuffers(count, capacity);
+        for (int k = 0; k < count; k++) {
+            Equipment item = shop.equipmentAt(candidates[k]);
+            long value = score(item);
+            int weight = item.getWorth() / divisor;
+            long row = (long) k * (capacity + 1);
+            for (int c = capacity; c >= weight; c--) {  // going down means each item is used at most once
+                long withItem = this.best[c - weight] + value;
+                if (withItem > this.best[c]) {
+                    this.best[c] = withItem;
+                    long bit = row + c;
+                    this.taken[(int) (bit >>> 6)] |= 1L << bit;
+                }
+            }
+        }
+    }
+
+    // EFFECTS: walks the recorded choices back from the full budget and produces the indices of the taken items
+    private int[] choose(Inventory shop, int[] candidates, int count, int divisor, int capacity) {
+        int[] chosen = new int[count];
+        int chosenCount = 0;
+        int c = capacity;
+        for (int k = count - 1; k >= 0; k--) {
+            long bit = (long) k * (capacity + 1) + c;
+            if ((this.taken[(int) (bit >>> 6)] & (1L << bit)) != 0) {
+                chosen[chosenCount++] = candidates[k];
+                c -= shop.equipmentAt(candidates[k]).getWorth() / divisor;
+            }
+        }
+        int[] result = Arrays.copyOf(chosen, chosenCount);
+        Arrays.sort(result);
+        return result;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes sure the buffers can hold count items and a capacity, growing them only if needed, and clears
+    //          the part that will be used
+    private void prepareBuffers(int count, int capacity) {
+        long bits = (long) count * (capacity + 1);
+        if (bits > (long) Integer.MAX_VALUE * Long.SIZE) {
+            throw new IllegalArgumentException("The shop and budget are too large to optimize.");
+        }
+        int words = (int) ((bits + Long.SIZE - 1) / Long.SIZE);
+        if (this.best.length < capacity + 1) {
+            this.best = new long[capacity + 1];
+        }
+        if (this.taken.length < words) {
+            this.taken = new long[words];
+        }
+        Arrays.fill(this.best, 0, capacity + 1, 0L);
+        Arrays.fill(this.taken, 0, words, 0L);
+    }
+
+    // EFFECTS: produce the greatest common divisor of a and b, where gcd(0, b) = b
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,30 @@
+package model;
+
+/**
+ * The Stat enumeration lists the values of an Equipment that can be used to rank or query equipment in an Inventory.
+ *
+ * @author Arjun
+ */
+public enum Stat {
+    STRENGTH,
+    ENDURANCE,
+    DEXTERITY,
+    SPEED,
+    WORTH;
+
+    // EFFECTS: produce the value of this stat for an equipment item
+    public int of(Equipment item) {
+        switch (this) {
+            case STRENGTH:
+                return item.getStrength();
+            case ENDURANCE:
+                return item.getEndurance();
+            case DEXTERITY:
+                return item.getDexterity();
+            case SPEED:
+                return item.getSpeed();
+            default:
+                return item.getWorth();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package model;
+
+/**
+ * The StatBlock class packs the four combat stats (strength, endurance, dexterity and speed) into a single long, as
+ * four signed 16-bit lanes. A StatBlock is just that long value, so it can be stored, copied and summed without
+ * creating any objects, and adding two StatBlocks adds all four stats in one operation instead of four.
+ *
+ * Every stat must fit in a signed 16-bit lane, so it must be within [MIN_STAT, MAX_STAT]. Adding or subtracting
+ * StatBlocks (or multiplying one by a factor) checks every lane for overflow and throws ArithmeticException if any stat
+ * leaves that range.
+ *
+ * Strength is stored in the lowest 16 bits, followed by endurance, dexterity and then speed in the highest bits.
+ *
+ * A StatBlock holds the modifiers of one thing (an item, a buff, a class growth step or a set of percentages). Sums
+ * without a fixed bound, like inventory totals and the stats of a character, are kept as StatTotals instead.
+ *
+ * @author Arjun
+ */
+public final class StatBlock {
+    public static final long ZERO = 0L;  // the StatBlock where every stat is 0
+    public static final int MIN_STAT = Short.MIN_VALUE;  // the smallest value a single stat can hold
+    public static final int MAX_STAT = Short.MAX_VALUE;  // the largest value a single stat can hold
+
+    private static final long SIGN_BITS = 0x8000800080008000L;  // the highest bit of every lane
+    private static final int STRENGTH_SHIFT = 0;
+    private static final int ENDURANCE_SHIFT = 16;
+    private static final int DEXTERITY_SHIFT = 32;
+    private static final int SPEED_SHIFT = 48;
+
+    private StatBlock() {
+    }
+
+    // EFFECTS: produce a StatBlock holding the four stats, else throws IllegalArgumentException if any of them is
+    //          outside [MIN_STAT, MAX_STAT]
+    public static long of(int str, int end, int dex, int spd) {
+        return lane(str, STRENGTH_SHIFT) | lane(end, ENDURANCE_SHIFT) | lane(dex, DEXTERITY_SHIFT)
+                | lane(spd, SPEED_SHIFT);
+    }
+
+    // EFFECTS: produce the strength of a StatBlock
+    public static int strength(long stats) {
+        return (short) (stats >>> STRENGTH_SHIFT);
+    }
+
+    // EFFECTS: produce the endurance of a StatBlock
+    public static int endurance(long stats) {
+        return (short) (stats >>> ENDURANCE_SHIFT);
+    }
+
+    // EFFECTS: produce the dexterity of a StatBlock
+    public static int dexterity(long stats) {
+        return (short) (stats >>> DEXTERITY_SHIFT);
+    }
+
+    // EFFECTS: produce the speed of a StatBlock
+    public static int speed(long stats) {
+        return (short) (stats >>> SPEED_SHIFT);
+    }
+
+    // EFFECTS: produce the stat-by-stat sum of a and b, else throws ArithmeticException if any stat overflows
+    public static long add(long a, long b) {
+        long sum = ((a & ~SIGN_BITS) + (b & ~SIGN_BITS)) ^ ((a ^ b) & SIGN_BITS);  // no carry crosses a lane
+        if (((a ^ sum) & (b ^ sum) & SIGN_BITS) != 0) {  // both operands had a different sign than the sum
+            throw new ArithmeticException("A stat is too large to be stored in a StatBlock.");
+        }
+        return sum;
+    }
+
+    // EFFECTS: produce the stat-by-stat difference a - b, else throws ArithmeticException if any stat overflows
+    public static long subtract(long a, long b) {
+        long difference = ((a | SIGN_BITS) - (b & ~SIGN_BITS)) ^ ((a ^ ~b) & SIGN_BITS);  // no borrow crosses a lane
+        if (((a ^ b) & (a ^ difference) & SIGN_BITS) != 0) {  // operands had different signs, and so did a and result
+            throw new ArithmeticException("A stat is too large to be stored in a StatBlock.");
+        }
+        return difference;
+    }
+
+    // EFFECTS: produce every stat of a StatBlock multiplied by factor, else throws ArithmeticException if any stat
+    //          overflows
+    public static long multiply(long stats, int factor) {
+        return lane(product(strength(stats), factor), STRENGTH_SHIFT)
+                | lane(product(endurance(stats), factor), ENDURANCE_SHIFT)
+                | lane(product(dexterity(stats), factor), DEXTERITY_SHIFT)
+                | lane(product(speed(stats), factor), SPEED_SHIFT);
+    }
+
+    // REQUIRES: every stat of percentages is >= 0
+    // EFFECTS: produce every stat of a StatBlock scaled by the percentage in the same lane of percentages (rounded
+    //          towards zero), else throws ArithmeticException if any stat overflows
+    public static long scale(long stats, long percentages) {
+        return lane(percentOf(strength(stats), strength(percentages)), STRENGTH_SHIFT)
+                | lane(percentOf(endurance(stats), endurance(percentages)), ENDURANCE_SHIFT)
+                | lane(percentOf(dexterity(stats), dexterity(percentages)), DEXTERITY_SHIFT)
+                | lane(percentOf(speed(stats), speed(percentages)), SPEED_SHIFT);
+    }
+
+    // EFFECTS: produce a readable description of a StatBlock
+    public static String toString(long stats) {
+        return String.format("STR %d, END %d, DEX %d, SPD %d",
+                strength(stats), endurance(stats), dexterity(stats), speed(stats));
+    }
+
+    // EFFECTS: produce value placed in the lane starting at shift, else throws IllegalArgumentException if value does
+    //          not fit in a lane
+    private static long lane(int value, int shift) {
+        if (value < MIN_STAT || value > MAX_STAT) {
+            throw new IllegalArgumentException("A stat must be within [" + MIN_STAT + ", " + MAX_STAT + "].");
+        }
+        return (value & 0xFFFFL) << shift;
+    }
+
+    // EFFECTS: produce stat * factor, else throws ArithmeticException if it does not fit in a lane
+    private static int product(int stat, int factor) {
+        long product = (long) stat * factor;
+        if (product < MIN_STAT || product > MAX_STAT) {
+            throw new ArithmeticException("A stat is too large to be stored in a StatBlock.");
+        }
+        return (int) product;
+    }
+
+    // EFFECTS: produce percentage percent of stat (rounded towards zero), else throws ArithmeticException if it does
+    //          not fit in a lane
+    private static int percentOf(int stat, int percentage) {
+        long scaled = (long) stat * percentage / 100;
+        if (scaled < MIN_STAT || scaled > MAX_STAT) {
+            throw new ArithmeticException("A stat is too large to be stored in a StatBlock.");
+        }
+        return (int) scaled;
+    }
+}
@@ -0,0 +1,193 @@
+package model;
+
+/**
+ * The StatTotals class holds the four combat stats (strength, endurance, dexterity and speed) as full ints. It is used
+ * wherever stats are summed without a fixed bound: the totals of an inventory, the base stats of a character that
+ * grow every level, and the stats a character fights with. A single item, buff or growth step is still a StatBlock,
+ * whose 16-bit lanes are plenty for one modifier and cheap to store.
+ *
+ * The stats are packed like a StatBlock, but in two longs of two signed 32-bit lanes each: the low half holds strength
+ * (lowest 32 bits) and endurance, and the high half holds dexterity and speed. Adding a StatBlock widens each of its
+ * halves and adds it with one SWAR operation, so a total is updated with two additions instead of four, and no carry
+ * or borrow ever crosses a lane. The static methods work on these halves directly, so a running total (like the one
+ * kept by Inventory) can be stored in two long fields and updated without creating any objects.
+ *
+ * StatTotals are immutable, so a total can be shared and published between threads freely; every operation produces
+ * a new StatTotals and throws ArithmeticException (changing nothing) if any stat overflows an int.
+ *
+ * @author Arjun
+ */
+public final class StatTotals {
+    public static final StatTotals ZERO = new StatTotals(0L, 0L);  // the totals where every stat is 0
+
+    private static final long SIGN_BITS = 0x8000000080000000L;  // the highest bit of both lanes of a half
+    private static final long LOW_LANE = 0xFFFFFFFFL;  // the bits of the lower lane of a half
+
+    private final long low;  // strength and endurance, as two 32-bit lanes
+    private final long high;  // dexterity and speed, as two 32-bit lanes
+
+    // EFFECTS: constructs totals holding the four stats
+    public StatTotals(int str, int end, int dex, int spd) {
+        this(pack(str, end), pack(dex, spd));
+    }
+
+    // EFFECTS: constructs totals from their packed halves
+    private StatTotals(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    // EFFECTS: produce the totals holding the stats of a StatBlock
+    public static StatTotals of(long stats) {
+        return new StatTotals(widenLow(stats), widenHigh(stats));
+    }
+
+    // EFFECTS: produce the totals with the packed halves low (strength and endurance) and high (dexterity and speed)
+    public static StatTotals fromHalves(long low, long high) {
+        return new StatTotals(low, high);
+    }
+
+    // EFFECTS: produce the strength and endurance of a StatBlock as a packed low half
+    public static long widenLow(long stats) {
+        return pack(StatBlock.strength(stats), StatBlock.endurance(stats));
+    }
+
+    // EFFECTS: produce the dexterity and speed of a StatBlock as a packed high half
+    public static long widenHigh(long stats) {
+        return pack(StatBlock.dexterity(stats), StatBlock.speed(stats));
+    }
+
+    // EFFECTS: produce the stat in the lower lane of a packed half (strength or dexterity)
+    public static int lowerOf(long half) {
+        return (int) half;
+    }
+
+    // EFFECTS: produce the stat in the upper lane of a packed half (endurance or speed)
+    public static int upperOf(long half) {
+        return (int) (half >>> 32);
+    }
+
+    // EFFECTS: produce the lane-by-lane sum of the packed halves a and b, else throws ArithmeticException if either
+    //          lane overflows an int
+    public static long addHalves(long a, long b) {
+        long sum = ((a & ~SIGN_BITS) + (b & ~SIGN_BITS)) ^ ((a ^ b) & SIGN_BITS);  // no carry crosses a lane
+        if (((a ^ sum) & (b ^ sum) & SIGN_BITS) != 0) {  // both operands had a different sign than the sum
+            throw new ArithmeticException("A stat total is too large to be stored in an int.");
+        }
+        return sum;
+    }
+
+    // EFFECTS: produce the lane-by-lane difference a - b of the packed halves, else throws ArithmeticException if
+    //          either lane overflows an int
+    public static long subtractHalves(long a, long b) {
+        long difference = ((a | SIGN_BITS) - (b & ~SIGN_BITS)) ^ ((a ^ ~b) & SIGN_BITS);  // no borrow crosses a lane
+        if (((a ^ b) & (a ^ difference) & SIGN_BITS) != 0) {  // operands had different signs, and so did a and result
+            throw new ArithmeticException("A stat total is too large to be stored in an int.");
+        }
+        return difference;
+    }
+
+    // EFFECTS: produce the total strength
+    public int getStrength() {
+        return lowerOf(this.low);
+    }
+
+    // EFFECTS: produce the total endurance
+    public int getEndurance() {
+        return upperOf(this.low);
+    }
+
+    // EFFECTS: produce the total dexterity
+    public int getDexterity() {
+        return lowerOf(this.high);
+    }
+
+    // EFFECTS: produce the total speed
+    public int getSpeed() {
+        return upperOf(this.high);
+    }
+
+    // EFFECTS: produce these totals with the stats of a StatBlock added, else throws ArithmeticException if any stat
+    //          overflows
+    public StatTotals plus(long stats) {
+        return new StatTotals(addHalves(this.low, widenLow(stats)), addHalves(this.high, widenHigh(stats)));
+    }
+
+    // EFFECTS: produce these totals with the stats of a StatBlock subtracted, else throws ArithmeticException if any
+    //          stat overflows
+    public StatTotals minus(long stats) {
+        return new StatTotals(subtractHalves(this.low, widenLow(stats)), subtractHalves(this.high, widenHigh(stats)));
+    }
+
+    // EFFECTS: produce these totals with the modifiers of item added, else throws ArithmeticException if any stat
+    //          overflows
+    public StatTotals plus(Equipment item) {
+        return new StatTotals(addHalves(this.low, item.getLowHalf()), addHalves(this.high, item.getHighHalf()));
+    }
+
+    // EFFECTS: produce these totals with the modifiers of item subtracted, else throws ArithmeticException if any
+    //          stat overflows
+    public StatTotals minus(Equipment item) {
+        return new StatTotals(subtractHalves(this.low, item.getLowHalf()),
+                subtractHalves(this.high, item.getHighHalf()));
+    }
+
+    // EFFECTS: produce the stat-by-stat sum of these totals and other, else throws ArithmeticException if any stat
+    //          overflows
+    public StatTotals plus(StatTotals other) {
+        return new StatTotals(addHalves(this.low, other.low), addHalves(this.high, other.high));
+    }
+
+    // EFFECTS: produce the stats of a StatBlock each multiplied by factor, else throws ArithmeticException if any stat
+    //          overflows
+    public static StatTotals times(long stats, int factor) {
+        return new StatTotals(Math.multiplyExact(StatBlock.strength(stats), factor),
+                Math.multiplyExact(StatBlock.endurance(stats), factor),
+                Math.multiplyExact(StatBlock.dexterity(stats), factor),
+                Math.multiplyExact(StatBlock.speed(stats), factor));
+    }
+
+    // REQUIRES: every stat of percentages is >= 0
+    // EFFECTS: produce every stat scaled by the percentage in the same lane of the StatBlock percentages (rounded
+    //          towards zero), else throws ArithmeticException if any stat overflows
+    public StatTotals scale(long percentages) {
+        return new StatTotals(percentOf(getStrength(), StatBlock.strength(percentages)),
+                percentOf(getEndurance(), StatBlock.endurance(percentages)),
+                percentOf(getDexterity(), StatBlock.dexterity(percentages)),
+                percentOf(getSpeed(), StatBlock.speed(percentages)));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        StatTotals that = (StatTotals) o;
+        return this.low == that.low && this.high == that.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(this.low) + Long.hashCode(this.high);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("STR %d, END %d, DEX %d, SPD %d", getStrength(), getEndurance(), getDexterity(),
+                getSpeed());
+    }
+
+    // EFFECTS: produce a half with lower in its lower lane and upper in its upper lane
+    private static long pack(int lower, int upper) {
+        return (lower & LOW_LANE) | ((long) upper << 32);
+    }
+
+    // EFFECTS: produce percentage percent of stat (rounded towards zero), else throws ArithmeticException if it does
+    //          not fit in an int
+    private static int percentOf(int stat, int percentage) {
+        return Math.toIntExact((long) stat * percentage / 100);
+    }
+}
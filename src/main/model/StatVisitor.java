@@ -0,0 +1,14 @@
+package model;
+
+/**
+ * The StatVisitor interface is called by Inventory.forEachStats once for every equipment in an inventory, in order,
+ * with the primitive values of that equipment. Inventories that do not store Equipment objects (like
+ * ColumnarInventory) can call it straight from their storage without looking up or creating an Equipment.
+ *
+ * @author Arjun
+ */
+@FunctionalInterface
+public interface StatVisitor {
+    // EFFECTS: handles the values of the equipment stored at index
+    void visit(int index, int strength, int endurance, int dexterity, int speed, int worth);
+}
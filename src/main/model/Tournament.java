@@ -0,0 +1,253 @@
+package model;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import persistence.Writable;
+import player.Character;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The Tournament class ranks a group of characters (for example builds loaded with a JsonReader) by having every one
+ * of them play a best-of-N match against every other one, with the rules of the CombatEngine, and rating them with Elo.
+ *
+ * Every match is handed to a pool of workers at once, so the workers always have a match to take on until the last
+ * few. Each match rolls from its own seed, so the result of every match is repeatable for a given tournament seed. The
+ * listener is told about each match right away as it finishes, so results stream out while the rest are still being
+ * fought. Since Elo depends on the order matches are counted in, the ratings are always updated in the order the
+ * matches were handed out: a match that finishes early waits until every match before it has been counted. So the
+ * ratings and the ranking are also repeatable for a seed, no matter how many workers play.
+ *
+ * A Tournament is Writable, so the ranked table can be saved with a JsonWriter.
+ *
+ * @author Arjun
+ */
+public class Tournament implements Writable {
+    public static final double STARTING_RATING = 1500;  // the rating of every entrant before their first match
+    public static final double K_FACTOR = 32;  // the most a rating can change in one match
+
+    private final Character[] entrants;  // copies of the entrants, only ever copied again to fight
+    private final int bestOf;  // the number of fights a match can last
+    private final long seed;  // where the seed of every match comes from
+    private final double[] ratings;  // the Elo rating of each entrant
+    private final int[] matchWins;  // the matches each entrant has won
+    private final int[] matchLosses;  // the matches each entrant has lost
+    private int matchesPlayed;  // matches counted in the ratings so far (in the order they were handed out)
+
+    // REQUIRES: bestOf is odd and positive, and every entrant is able to hit
+    // EFFECTS: constructs a tournament between copies of entrants (so they are never changed), where matches are
+    //          best of bestOf fights and every match seed comes from seed
+    public Tournament(List<Character> entrants, int bestOf, long seed) {
+        this.entrants = new Character[entrants.size()];
+        for (int i = 0; i < this.entrants.length; i++) {
+            this.entrants[i] = entrants.get(i).snapshot();  // already shared, so workers only read these
+        }
+        this.bestOf = bestOf;
+        this.seed = seed;
+        this.ratings = new double[this.entrants.length];
+        Arrays.fill(this.ratings, STARTING_RATING);
+        this.matchWins = new int[this.entrants.length];
+        this.matchLosses = new int[this.entrants.length];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: plays every match on a worker for each core, telling listener about each match as it finishes, else
+    //          throws InterruptedException (leaving the tournament partly played) if interrupted while waiting
+    public void play(TournamentListener listener) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            play(workers, listener);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: plays every match on workers, telling listener about each match as it finishes and counting the
+    //          matches in the ratings in the order they were handed out, else throws InterruptedException (leaving
+    //          the tournament partly played) if interrupted while waiting
+    public void play(ExecutorService workers, TournamentListener listener) throws InterruptedException {
+        CompletionService<MatchResult> matches = new ExecutorCompletionService<>(workers);
+        GameRandom seeds = new GameRandom(this.seed);
+        int total = 0;
+        for (int first = 0; first < this.entrants.length; first++) {
+            for (int second = first + 1; second < this.entrants.length; second++) {
+                matches.submit(new Match(first, second, seeds.nextSeed()));
+                total++;
+            }
+        }
+        MatchResult[] waiting = new MatchResult[total];  // finished matches not counted yet, in the order handed out
+        int counted = 0;
+        for (int finished = 1; finished <= total; finished++) {
+            MatchResult result = take(matches);
+            waiting[matchNumber(result.getFirst(), result.getSecond())] = result;
+            counted = rateInOrder(waiting, counted);
+            listener.matchFinished(result, finished, total);
+        }
+    }
+
+    // EFFECTS: produce the number of entrants in the tournament
+    public int getNumberOfEntrants() {
+        return this.entrants.length;
+    }
+
+    // EFFECTS: produce the name of an entrant
+    public String getName(int entrant) {
+        return this.entrants[entrant].getName();
+    }
+
+    // EFFECTS: produce the current Elo rating of an entrant
+    public double getRating(int entrant) {
+        return this.ratings[entrant];
+    }
+
+    // EFFECTS: produce the number of matches an entrant has won
+    public int getMatchWins(int entrant) {
+        return this.matchWins[entrant];
+    }
+
+    // EFFECTS: produce the number of matches an entrant has lost
+    public int getMatchLosses(int entrant) {
+        return this.matchLosses[entrant];
+    }
+
+    // EFFECTS: produce the number of matches counted in the ratings so far
+    public int getMatchesPlayed() {
+        return this.matchesPlayed;
+    }
+
+    // EFFECTS: produce the entrants from highest rated to lowest (entrants rated the same stay in entry order)
+    public List<Integer> getRanking() {
+        List<Integer> ranking = new ArrayList<>(this.entrants.length);
+        for (int i = 0; i < this.entrants.length; i++) {
+            ranking.add(i);
+        }
+        ranking.sort(Comparator.comparingDouble((Integer entrant) -> this.ratings[entrant]).reversed());
+        return ranking;
+    }
+
+    // EFFECTS: returns the ranked table as a JSON object
+    @Override
+    public JSONObject toJson() {
+        JSONArray standings = new JSONArray();
+        int rank = 1;
+        for (int entrant : getRanking()) {
+            JSONObject standing = new JSONObject();
+            standing.put("rank", rank++);
+            standing.put("name", getName(entrant));
+            standing.put("rating", Math.round(this.ratings[entrant]));
+            standing.put("wins", this.matchWins[entrant]);
+            standing.put("losses", this.matchLosses[entrant]);
+            standings.put(standing);
+        }
+        JSONObject json = new JSONObject();
+        json.put("bestOf", this.bestOf);
+        json.put("matches", this.matchesPlayed);
+        json.put("standings", standings);
+        return json;
+    }
+
+    // EFFECTS: produce the ranked table as text, one entrant per line
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder(String.format("%4s  %-24s %6s %5s %6s%n",
+                "Rank", "Name", "Rating", "Wins", "Losses"));
+        int rank = 1;
+        for (int entrant : getRanking()) {
+            table.append(String.format("%4d  %-24s %6d %5d %6d%n", rank++, getName(entrant),
+                    Math.round(this.ratings[entrant]), this.matchWins[entrant], this.matchLosses[entrant]));
+        }
+        return table.toString();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts result in the records and the Elo ratings of both entrants
+    private void rate(MatchResult result) {
+        int winner = result.getWinner();
+        int loser = result.getLoser();
+        double expected = 1 / (1 + Math.pow(10, (this.ratings[loser] - this.ratings[winner]) / 400));
+        double change = K_FACTOR * (1 - expected);
+        this.ratings[winner] += change;
+        this.ratings[loser] -= change;
+        this.matchWins[winner]++;
+        this.matchLosses[loser]++;
+        this.matchesPlayed++;
+    }
+
+    // EFFECTS: produce the position of the match between first and second in the order matches are handed out
+    private int matchNumber(int first, int second) {
+        int before = first * (2 * this.entrants.length - first - 1) / 2;  // matches of the entrants before first
+        return before + second - first - 1;
+    }
+
+    // REQUIRES: waiting[i] is the result of the i-th match handed out (or null if it has not finished), and the
+    //          first counted matches have already been counted
+    // MODIFIES: this, waiting
+    // EFFECTS: counts every finished match that comes next in the order matches were handed out in the ratings,
+    //          clearing it from waiting, and produces the number of matches counted now
+    private int rateInOrder(MatchResult[] waiting, int counted) {
+        int next = counted;
+        while (next < waiting.length && waiting[next] != null) {
+            rate(waiting[next]);
+            waiting[next] = null;
+            next++;
+        }
+        return next;
+    }
+
+    // EFFECTS: produce the next match to finish, else throws InterruptedException if interrupted while waiting
+    private static MatchResult take(CompletionService<MatchResult> matches) throws InterruptedException {
+        try {
+            return matches.take().get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A match could not be played.", e.getCause());
+        }
+    }
+
+    /**
+     * One match between two entrants, played on a worker.
+     */
+    private class Match implements Callable<MatchResult> {
+        private final int first;  // index of the first entrant
+        private final int second;  // index of the second entrant
+        private final long seed;  // the seed every fight of this match rolls from
+
+        Match(int first, int second, long seed) {
+            this.first = first;
+            this.second = second;
+            this.seed = seed;
+        }
+
+        // EFFECTS: fights fresh copies of both entrants at full health until one has won most of bestOf fights,
+        //          swapping which goes first each fight so ties in speed are fair
+        @Override
+        public MatchResult call() {
+            CombatEngine engine = new CombatEngine(new GameRandom(this.seed));
+            int needed = bestOf / 2 + 1;
+            int[] wins = new int[2];
+            for (int fight = 0; wins[0] < needed && wins[1] < needed; fight++) {
+                Character one = fresh(entrants[this.first]);
+                Character two = fresh(entrants[this.second]);
+                Character winner = fight % 2 == 0 ? engine.fight(one, two) : engine.fight(two, one);
+                wins[winner == one ? 0 : 1]++;
+            }
+            return new MatchResult(this.first, this.second, wins[0], wins[1]);
+        }
+
+        // EFFECTS: produce a copy of entrant at full health, only reading entrant
+        private Character fresh(Character entrant) {
+            Character copy = entrant.snapshot();
+            copy.healCharacter(copy.getMaxHealth());
+            return copy;
+        }
+    }
+}
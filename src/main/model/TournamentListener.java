@@ -0,0 +1,12 @@
+package model;
+
+/**
+ * The TournamentListener interface is told about each match of a Tournament as soon as it finishes, after the ratings
+ * have been updated with it. Matches finish in whatever order the workers get through them.
+ *
+ * @author Arjun
+ */
+public interface TournamentListener {
+    // EFFECTS: handles result being the latest match to finish, out of finished matches of total
+    void matchFinished(MatchResult result, int finished, int total);
+}
@@ -0,0 +1,107 @@
+package persistence;
+
+import model.Equipment;
+import model.Inventory;
+import model.StatTotals;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import player.Character;
+
+/**
+ * The ChangeSet class describes everything about a Character that has changed since its last checkpoint: the groups
+ * of fields that changed, the positions of the equipment removed from its inventory and the equipment added to it.
+ * Its JSON holds only those changes, using the same keys as Character.toJson, plus "removed" (positions in the
+ * inventory as it was at the checkpoint) and "added" (equipment, in inventory order) when the inventory changed.
+ *
+ * A writer consumes a ChangeSet by writing its JSON and then clearing it, which checkpoints the character. A saved
+ * character can be brought up to date by applying every change written since, in order, with applyTo.
+ *
+ * @author Arjun
+ */
+public class ChangeSet implements Writable {
+    private final Character character;  // the character whose changes this describes
+
+    // EFFECTS: constructs the change set of a character
+    public ChangeSet(Character character) {
+        this.character = character;
+    }
+
+    // EFFECTS: returns true if nothing has changed since the last checkpoint
+    public boolean isEmpty() {
+        return !this.character.hasChanges();
+    }
+
+    // EFFECTS: produce a JSON holding only what has changed since the last checkpoint
+    @Override
+    public JSONObject toJson() {
+        int changed = this.character.getChangedFields();
+        StatTotals stats = this.character.getBaseStats();
+        JSONObject json = new JSONObject();
+        if ((changed & Character.LEVEL_CHANGED) != 0) {
+            json.put("level", this.character.getLevel());
+        }
+        if ((changed & Character.HEALTH_CHANGED) != 0) {
+            json.put("currentHP", this.character.getCurrentHealth());
+            json.put("maxHP", this.character.getMaxHealth());
+        }
+        if ((changed & Character.STATS_CHANGED) != 0) {
+            json.put("strength", stats.getStrength());
+            json.put("endurance", stats.getEndurance());
+            json.put("dexterity", stats.getDexterity());
+            json.put("speed", stats.getSpeed());
+        }
+        if ((changed & Character.GOLD_CHANGED) != 0) {
+            json.put("gold", this.character.getGold());
+        }
+        putInventoryChanges(json);
+        return json;
+    }
+
+    // MODIFIES: character
+    // EFFECTS: checkpoints the character, so that every change described so far is forgotten
+    public void clear() {
+        this.character.checkpoint();
+    }
+
+    // REQUIRES: changes was produced by the ChangeSet of the character saved in saved, right after it was saved or
+    //           after the previous changes applied to it were produced
+    // MODIFIES: saved
+    // EFFECTS: updates the JSON of a saved character with a JSON of changes, and produces it
+    public static JSONObject applyTo(JSONObject saved, JSONObject changes) {
+        for (String key : changes.keySet()) {
+            if (!key.equals("removed") && !key.equals("added")) {
+                saved.put(key, changes.get(key));
+            }
+        }
+        if (changes.has("removed")) {
+            JSONArray inventory = saved.getJSONArray("inventory");
+            JSONArray removed = changes.getJSONArray("removed");
+            JSONArray updated = new JSONArray();
+            int next = 0;  // the next entry of removed
+            for (int i = 0; i < inventory.length(); i++) {
+                if (next < removed.length() && removed.getInt(next) == i) {
+                    next++;
+                } else {
+                    updated.put(inventory.get(i));
+                }
+            }
+            changes.getJSONArray("added").forEach(updated::put);
+            saved.put("inventory", updated);
+        }
+        return saved;
+    }
+
+    // MODIFIES: json
+    // EFFECTS: puts the removed positions and the added equipment into json, if the inventory has changed
+    private void putInventoryChanges(JSONObject json) {
+        Inventory inventory = this.character.getInventory();
+        if (inventory.hasChangedSinceCheckpoint()) {
+            json.put("removed", new JSONArray(inventory.getRemovedSinceCheckpoint()));
+            JSONArray added = new JSONArray();
+            for (Equipment item : inventory.getAddedSinceCheckpoint()) {
+                added.put(item.toJson());
+            }
+            json.put("added", added);
+        }
+    }
+}
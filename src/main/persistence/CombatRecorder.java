@@ -0,0 +1,95 @@
+package persistence;
+
+import model.CombatListener;
+import player.Character;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The CombatRecorder class records a fight as a compact binary log, by listening to the CombatEngine fighting it.
+ *
+ * A log starts with a header: the format version, the seed of the GameRandom the fight rolls from (8 bytes), and both
+ * characters as they were when the fight started. Every attack after that is one varint: 0 for a miss, or the damage
+ * of a hit followed by the health the defender was left with. Most rounds take 2 to 6 bytes.
+ *
+ * Logs are appended to a file one after another, each behind its length, so every fight of every session can be kept
+ * in a single file. A CombatReplayer reads them back and fights them again to check they play out the same.
+ *
+ * @author Arjun
+ */
+public class CombatRecorder implements CombatListener {
+    public static final int FORMAT = 1;  // the version of the log format
+    static final int SEED_BYTES = 8;  // the seed is written whole, since it is as likely to be large as small
+
+    private final ByteArrayOutputStream log;  // everything recorded so far
+
+    // REQUIRES: the fight will be fought by a CombatEngine rolling from new GameRandom(seed), with first and second
+    //           given to it in that order
+    // EFFECTS: starts a log of the fight between first and second
+    public CombatRecorder(long seed, Character first, Character second) {
+        this.log = new ByteArrayOutputStream(64);
+        this.log.write(FORMAT);
+        for (int i = 0; i < SEED_BYTES; i++) {
+            this.log.write((int) (seed >>> (8 * i)));
+        }
+        writeCharacter(first);
+        writeCharacter(second);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records a hit and the health it left the defender with
+    @Override
+    public void attackHit(Character attacker, Character defender, int damage) {
+        VarInts.writeUnsigned(this.log, damage);
+        VarInts.writeSigned(this.log, defender.getCurrentHealth());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records a miss
+    @Override
+    public void attackMissed(Character attacker, Character defender) {
+        VarInts.writeUnsigned(this.log, 0);
+    }
+
+    // EFFECTS: produce the number of bytes recorded so far
+    public int size() {
+        return this.log.size();
+    }
+
+    // EFFECTS: produce the log recorded so far
+    public byte[] toByteArray() {
+        return this.log.toByteArray();
+    }
+
+    // EFFECTS: adds the log recorded so far to the end of the destination file (creating it if needed), else throws
+    //          IOException if it cannot be written
+    public void appendTo(String destination) throws IOException {
+        try (OutputStream out = new FileOutputStream(destination, true)) {
+            ByteArrayOutputStream length = new ByteArrayOutputStream(4);
+            VarInts.writeUnsigned(length, this.log.size());
+            length.writeTo(out);
+            this.log.writeTo(out);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records everything about c that matters in a fight (equipment and buffs are already part of the stats)
+    private void writeCharacter(Character c) {
+        byte[] name = c.getName().getBytes(StandardCharsets.UTF_8);
+        VarInts.writeUnsigned(this.log, name.length);
+        this.log.write(name, 0, name.length);
+        VarInts.writeUnsigned(this.log, c.getCharacterRace().ordinal());
+        VarInts.writeUnsigned(this.log, c.getCharacterClass().ordinal());
+        VarInts.writeSigned(this.log, c.getLevel());
+        VarInts.writeSigned(this.log, c.getCurrentHealth());
+        VarInts.writeSigned(this.log, c.getMaxHealth());
+        VarInts.writeSigned(this.log, c.getStrength());
+        VarInts.writeSigned(this.log, c.getEndurance());
+        VarInts.writeSigned(this.log, c.getDexterity());
+        VarInts.writeSigned(this.log, c.getSpeed());
+    }
+}
@@ -0,0 +1,190 @@
+package persistence;
+
+import exceptions.InvalidReplayException;
+import model.CombatEngine;
+import model.CombatListener;
+import model.GameRandom;
+import player.Character;
+import player.CharacterClass;
+import player.Race;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The CombatReplayer class reads back a log written by a CombatRecorder, and fights the same fight again with the
+ * CombatEngine, from the same characters and the same seed. Every attack of the replay must match the log, so a
+ * replay that succeeds shows the fight was fought by the rules, and produces the same winner.
+ *
+ * @author Arjun
+ */
+public class CombatReplayer {
+    private final ByteBuffer log;  // the log, positioned at the next thing to read
+    private final long seed;  // the seed the fight rolled from
+    private final Character first;  // the first character given to the engine, as it was at the start of the fight
+    private final Character second;  // the second character given to the engine, as it was at the start of the fight
+    private String problem;  // the first way the replay differed from the log, or null if it has not
+
+    // EFFECTS: reads the header of log, else throws InvalidReplayException if it is not a log this replayer can read
+    public CombatReplayer(byte[] log) throws InvalidReplayException {
+        this.log = ByteBuffer.wrap(log);
+        try {
+            if (this.log.get() != CombatRecorder.FORMAT) {
+                throw new InvalidReplayException("Unknown combat log format.");
+            }
+            long readSeed = 0;
+            for (int i = 0; i < CombatRecorder.SEED_BYTES; i++) {
+                readSeed |= (this.log.get() & 0xFFL) << (8 * i);
+            }
+            this.seed = readSeed;
+            this.first = readCharacter();
+            this.second = readCharacter();
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidReplayException("The combat log is corrupted.");
+        }
+    }
+
+    // EFFECTS: produce the seed the logged fight rolled from
+    public long getSeed() {
+        return this.seed;
+    }
+
+    // EFFECTS: produce the first character of the fight, as it was when the fight started
+    public Character getFirst() {
+        return this.first;
+    }
+
+    // EFFECTS: produce the second character of the fight, as it was when the fight started
+    public Character getSecond() {
+        return this.second;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fights the logged fight again, checking every attack against the log, and produces the winner (or null
+    //          if the log stopped before the fight was over), else throws InvalidReplayException if the replay does
+    //          not match the log
+    public Character replay() throws InvalidReplayException {
+        CombatEngine engine = new CombatEngine(new GameRandom(this.seed), new Checker());
+        Character winner = null;
+        while (winner == null && this.log.hasRemaining()) {
+            winner = engine.round(this.first, this.second);
+            if (this.problem != null) {
+                throw new InvalidReplayException(this.problem);
+            }
+        }
+        if (this.log.hasRemaining()) {
+            throw new InvalidReplayException("The combat log goes on after the fight was over.");
+        }
+        return winner;
+    }
+
+    // EFFECTS: produce every log appended to the source file, in order, else throws IOException if it cannot be read
+    //          or a log in it is cut short (or claims to be longer than the rest of the file)
+    public static List<byte[]> readLogs(String source) throws IOException {
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(Paths.get(source)));
+        List<byte[]> logs = new ArrayList<>();
+        try {
+            while (file.hasRemaining()) {
+                int length = readLength(file);
+                if (length < 0) {
+                    throw new IOException("A combat log in " + source + " is cut short.");
+                }
+                byte[] log = new byte[length];
+                file.get(log);
+                logs.add(log);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("A combat log in " + source + " is cut short.");
+        }
+        return logs;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a character written by CombatRecorder.writeCharacter, else throws InvalidReplayException if its
+    //          name claims to be longer than the rest of the log
+    private Character readCharacter() throws InvalidReplayException {
+        int length = readLength(this.log);
+        if (length < 0) {
+            throw new InvalidReplayException("The combat log is corrupted.");
+        }
+        byte[] name = new byte[length];
+        this.log.get(name);
+        Race race = Race.values()[(int) VarInts.readUnsigned(this.log)];
+        CharacterClass characterClass = CharacterClass.values()[(int) VarInts.readUnsigned(this.log)];
+        int level = (int) VarInts.readSigned(this.log);
+        int currentHP = (int) VarInts.readSigned(this.log);
+        int maxHP = (int) VarInts.readSigned(this.log);
+        int str = (int) VarInts.readSigned(this.log);
+        int end = (int) VarInts.readSigned(this.log);
+        int dex = (int) VarInts.readSigned(this.log);
+        int spd = (int) VarInts.readSigned(this.log);
+        return new Character(new String(name, StandardCharsets.UTF_8), race, characterClass, level, currentHP, maxHP,
+                str, end, dex, spd, 0);
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: reads the length written before a run of bytes, and produces it, or -1 if fewer bytes than that are
+    //          left in buffer
+    private static int readLength(ByteBuffer buffer) {
+        long length = VarInts.readUnsigned(buffer);
+        return length < 0 || length > buffer.remaining() ? -1 : (int) length;
+    }
+
+    /**
+     * Compares each attack of the replay with the next attack in the log, and remembers the first difference.
+     */
+    private class Checker implements CombatListener {
+        private static final long LOG_OVER = Long.MIN_VALUE;  // read in place of a number when the log is over
+
+        @Override
+        public void attackHit(Character attacker, Character defender, int damage) {
+            long loggedDamage = next(false);
+            long loggedHealth = loggedDamage > 0 ? next(true) : LOG_OVER;
+            if (loggedDamage != damage) {
+                differ(loggedDamage, String.format("%s hit %s for %d, but the log says %d.",
+                        attacker.getName(), defender.getName(), damage, loggedDamage));
+            } else if (loggedHealth != defender.getCurrentHealth()) {
+                differ(loggedHealth, String.format("%s was left with %d health, but the log says %d.",
+                        defender.getName(), defender.getCurrentHealth(), loggedHealth));
+            }
+        }
+
+        @Override
+        public void attackMissed(Character attacker, Character defender) {
+            long loggedDamage = next(false);
+            if (loggedDamage != 0) {
+                differ(loggedDamage, String.format("%s missed, but the log says they hit for %d.",
+                        attacker.getName(), loggedDamage));
+            }
+        }
+
+        // MODIFIES: CombatReplayer.this
+        // EFFECTS: reads the next number in the log (zigzag encoded if signed), or LOG_OVER if the log is over or
+        //          corrupted
+        private long next(boolean signed) {
+            try {
+                if (!log.hasRemaining()) {
+                    return LOG_OVER;
+                }
+                return signed ? VarInts.readSigned(log) : VarInts.readUnsigned(log);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                return LOG_OVER;
+            }
+        }
+
+        // MODIFIES: CombatReplayer.this
+        // EFFECTS: remembers the difference (or that the log ended early, if logged is LOG_OVER), unless an earlier
+        //          one was already found
+        private void differ(long logged, String difference) {
+            if (problem == null) {
+                problem = logged == LOG_OVER ? "The combat log ends in the middle of a round." : difference;
+            }
+        }
+    }
+}
@@ -7,8 +7,11 @@ import java.nio.file.Paths;
 import java.util.stream.Stream;
 
 import model.Equipment;
+import model.EquipmentCatalog;
 import org.json.*;
 import player.Character;
+import player.CharacterClass;
+import player.Race;
 
 /**
  * CITATION: The base code can be found at https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
@@ -47,11 +50,18 @@ public class JsonReader {
         return contentBuilder.toString();
     }
 
-    // EFFECTS: parses character from JSON object and returns it as a Character object
+    // EFFECTS: parses character from JSON object and returns it as a Character object;
+    //          throws JSONException if the race or class is unknown
     private Character parseWorkRoom(JSONObject jsonObject) {
         String name = jsonObject.getString("name");  // These are the parameters for building a character
-        String race = jsonObject.getString("race");
-        String className = jsonObject.getString("className");
+        Race race;
+        CharacterClass className;
+        try {
+            race = Race.fromName(jsonObject.getString("race"));
+            className = CharacterClass.fromName(jsonObject.getString("className"));
+        } catch (IllegalArgumentException e) {
+            throw new JSONException(e.getMessage());
+        }
         int level = jsonObject.getInt("level");
         int currentHP = jsonObject.getInt("currentHP");
         int maxHP = jsonObject.getInt("maxHP");
@@ -63,6 +73,7 @@ public class JsonReader {
 
         Character c = new Character(name, race, className, level, currentHP, maxHP, str, end, dex, speed, gold);
         buildInventory(c, jsonObject);  // We need to rebuild the Inventory
+        c.checkpoint();  // the character now matches the file, so nothing has changed yet
         return c;
     }
 
@@ -77,7 +88,8 @@ public class JsonReader {
     }
 
     // MODIFIES: Character c
-    // EFFECTS: parses equipment from JSON object and adds it to the inventory of the Character
+    // EFFECTS: parses equipment from JSON object and adds it to the inventory of the Character;
+    //          throws JSONException if a modifier does not fit in a StatBlock or a stat total would overflow
     private void addEquipment(Character c, JSONObject jsonObject) {
         String name = jsonObject.getString("name");  // Retrieve all the parameters in the Character
         int strength = jsonObject.getInt("strength");
@@ -85,7 +97,11 @@ public class JsonReader {
         int dexterity = jsonObject.getInt("dexterity");
         int speed = jsonObject.getInt("speed");
         int worth = jsonObject.getInt("worth");
-        Equipment item = new Equipment(name, strength, endurance, dexterity, speed, worth);
-        c.equipItem(item);  // Equip the item to the Character (add it to their inventory)
+        try {
+            Equipment item = EquipmentCatalog.intern(name, strength, endurance, dexterity, speed, worth);
+            c.equipItem(item);  // Equip the item to the Character (add it to their inventory)
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new JSONException(e.getMessage());
+        }
     }
 }
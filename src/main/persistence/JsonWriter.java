@@ -1,7 +1,6 @@
 package persistence;
 
 import org.json.JSONObject;
-import player.Character;
 
 
 import java.io.*;
@@ -34,12 +33,19 @@ public class JsonWriter {
     }
 
     // MODIFIES: this
-    // EFFECTS: writes JSON representation of Character to file
-    public void write(Character c) {
+    // EFFECTS: writes JSON representation of a Character (or anything else that is Writable) to file
+    public void write(Writable c) {
         JSONObject json = c.toJson();
         saveToFile(json.toString(TAB));
     }
 
+    // MODIFIES: this, changes
+    // EFFECTS: writes JSON representation of only what changed since the last checkpoint to file, then clears changes
+    public void writeChanges(ChangeSet changes) {
+        saveToFile(changes.toJson().toString(TAB));
+        changes.clear();
+    }
+
     // MODIFIES: this
     // EFFECTS: closes writer
     public void close() {
@@ -0,0 +1,57 @@
+package persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes integers as varints: seven bits per byte, lowest bits first, where the top bit of each byte says
+ * whether another byte follows. Small numbers take a single byte. Signed numbers are zigzag encoded first, so small
+ * negative numbers are small too.
+ *
+ * @author Arjun
+ */
+final class VarInts {
+    private static final int MAX_BYTES = 10;  // a long never takes more bytes than this
+
+    private VarInts() {
+    }
+
+    // REQUIRES: value >= 0
+    // MODIFIES: out
+    // EFFECTS: writes value to out as a varint
+    static void writeUnsigned(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    // MODIFIES: out
+    // EFFECTS: writes value to out as a zigzag encoded varint
+    static void writeSigned(ByteArrayOutputStream out, long value) {
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    // MODIFIES: in
+    // EFFECTS: reads a varint from in, else throws BufferUnderflowException if in ends first, or
+    //          IllegalArgumentException if the varint is too long to be a long
+    static long readUnsigned(ByteBuffer in) {
+        long value = 0;
+        for (int i = 0; i < MAX_BYTES; i++) {
+            int b = in.get();
+            value |= (long) (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is too long.");
+    }
+
+    // MODIFIES: in
+    // EFFECTS: reads a zigzag encoded varint from in, failing like readUnsigned
+    static long readSigned(ByteBuffer in) {
+        long encoded = readUnsigned(in);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+}
@@ -0,0 +1,44 @@
+package player;
+
+/**
+ * The Buff class represents a temporary change to the stats of a Character, like a potion of strength or a blessing.
+ * A buff adds a StatBlock (which may hold negative stats, for curses) to the stats of a character for a number of
+ * rounds. Every call to Character.tickBuffs uses up one round, and the buff is removed once it has none left.
+ *
+ * @author Arjun
+ */
+public final class Buff {
+    private final String name;  // the name of the buff
+    private final long stats;  // the StatBlock added to the stats of a character while the buff lasts
+    private int roundsLeft;  // the number of rounds the buff still lasts
+
+    // REQUIRES: rounds > 0
+    // EFFECTS: constructs a buff adding stats for a number of rounds
+    public Buff(String name, long stats, int rounds) {
+        this.name = name;
+        this.stats = stats;
+        this.roundsLeft = rounds;
+    }
+
+    // EFFECTS: produce the name of the buff
+    public String getName() {
+        return this.name;
+    }
+
+    // EFFECTS: produce the StatBlock the buff adds while it lasts
+    public long getStats() {
+        return this.stats;
+    }
+
+    // EFFECTS: produce the number of rounds the buff still lasts
+    public int getRoundsLeft() {
+        return this.roundsLeft;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: uses up one round of the buff and returns true if it has now run out
+    boolean tick() {
+        this.roundsLeft--;
+        return this.roundsLeft <= 0;
+    }
+}
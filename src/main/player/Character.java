@@ -1,16 +1,19 @@
 package player;
 
-import exceptions.InvalidEquipmentException;
 import model.Equipment;
 import model.Inventory;
+import model.StatBlock;
+import model.StatTotals;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import persistence.Writable;
 
-import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
 
 /**
  * The Character class represents a character in the game. A character needs to be instantiated with a name, a race,
@@ -21,20 +24,49 @@ import java.util.List;
  * inventory items. There are methods to heal and take damage, increase a players stats, level up, add items to a
  * character's inventory and a method to check if they are alive.
  *
+ * The base strength, endurance, dexterity and speed of a character are stored together as StatTotals. The race and
+ * class of a character are a Race and a CharacterClass; how a character grows is looked up in its class.
+ *
+ * The stats a character fights with are built in layers: the base stats, plus the equipment in its inventory, plus
+ * its active buffs, all scaled by its percentage multipliers. The result is memoized. A version counter is bumped
+ * whenever the base stats, buffs or multipliers change, and the result is only rebuilt when the version or the
+ * inventory totals differ from the ones it was built with, so the stat getters are O(1) between changes. Buffs and
+ * multipliers are temporary and are not saved.
+ *
+ * A character tracks which of its fields have changed since its last checkpoint (and its inventory tracks the
+ * equipment added and removed), so a save can write only what changed (see persistence.ChangeSet).
+ *
+ * Listeners can be added to a character to be told whenever its HP, gold or level changes or it equips an item, so a
+ * UI can update only what changed.
+ *
+ * A snapshot of a character is a cheap copy that shares the inventory until one of them changes it, and preview uses
+ * one to show what a character would become after a change (like buying an item or training) without making it.
+ *
+ * A character can be put in concurrent mode so that many threads may take damage, heal and spend gold on it at once
+ * (for example in area of effect or multi-attacker fights). In that mode HP and gold are changed with lock-free atomic
+ * updates, so no update is lost, and healing still never goes above the max HP. Every other change must still be made
+ * by one thread at a time.
+ *
  * @author Arjun
  */
 public class Character implements Writable {
     private final String name;  // the name of a character
-    private final String race;  // the race of a character (human, dwarf, elf etc.)
-    private final String className;  // the class of a character (warrior, rogue, merchant etc.)
+    private final Race race;  // the race of a character (human, dwarf, elf etc.)
+    private final CharacterClass characterClass;  // the class of a character (warrior, rogue, merchant etc.)
     private int level;  // represents the current level of a character
-    private final List<Integer> hitpoints;  // HP is a list, where the first index is current, and second is max
-    private int strength; // The strength of a character
-    private int endurance;  // the endurance of a character
-    private int dexterity;  // the dexterity of a character
-    private int speed;  // the speed modifier of a weapon
+    private volatile int currentHP;  // the current HP of a character
+    private int maxHP;  // the max HP of a character
+    private StatTotals baseStats;  // the base strength, endurance, dexterity and speed of a character
+    private final List<Buff> buffs;  // the active buffs of a character
+    private StatTotals buffStats;  // the summed stats of every active buff
+    private long multipliers;  // a StatBlock of the percentage each stat is scaled by (100 leaves it unchanged)
+    private int version;  // bumped whenever the base stats, buffs or multipliers change
+    private volatile Effective effective;  // the memoized stats a character fights with, or null if none were built
     private final Inventory inventory;  // the inventory of a character
-    private int gold;  // the amount of gold a character has
+    private volatile int gold;  // the amount of gold a character has
+    private volatile int changedFields;  // the flags of the fields changed since the last checkpoint
+    private boolean concurrent;  // when true, HP, gold and changedFields are only changed with atomic updates
+    private volatile CharacterListener[] listeners;  // the listeners told about changes (replaced, never changed)
 
     // These fields remain public for tests to accurately run
     public static final int STARTING_LEVEL = 1;  // These fields determine what level a character starts at
@@ -48,43 +80,93 @@ public class Character implements Writable {
     public static final int FAVOURABLE_STAT_INCREASE = 3; //
     public static final int UNFAVOURABLE_STAT_INCREASE = 1; //
 
+    public static final int LEVEL_CHANGED = 1;  // These are the flags of getChangedFields, one per group of fields
+    public static final int HEALTH_CHANGED = 1 << 1;  // current or max HP
+    public static final int STATS_CHANGED = 1 << 2;  // base strength, endurance, dexterity or speed
+    public static final int GOLD_CHANGED = 1 << 3;
+    public static final int ALL_CHANGED = LEVEL_CHANGED | HEALTH_CHANGED | STATS_CHANGED | GOLD_CHANGED;
+
+    public static final long NO_MULTIPLIERS = StatBlock.of(100, 100, 100, 100);  // multipliers that change nothing
+
+    private static final CharacterListener[] NO_LISTENERS = new CharacterListener[0];
+
+    // These update the fields that may be changed by many threads at once in concurrent mode
+    private static final AtomicIntegerFieldUpdater<Character> CURRENT_HP =
+            AtomicIntegerFieldUpdater.newUpdater(Character.class, "currentHP");
+    private static final AtomicIntegerFieldUpdater<Character> GOLD =
+            AtomicIntegerFieldUpdater.newUpdater(Character.class, "gold");
+    private static final AtomicIntegerFieldUpdater<Character> CHANGED_FIELDS =
+            AtomicIntegerFieldUpdater.newUpdater(Character.class, "changedFields");
+
 
     /*
     REQUIRES: all integer values must be > 0
-    EFFECTS: Construct a well-formed character
+    EFFECTS: Construct a well-formed character, or throw IllegalArgumentException if race or className is unknown
      */
     public Character(String name, String race, String className, int hp, int str, int end, int dex, int spd) {
-        this.name = name;
-        this.race = race;
-        this.className = className;
-        this.level = STARTING_LEVEL;  // a new character ALWAYS starts at the same level
-        this.hitpoints = Arrays.asList(hp, hp); // HP is a list, where the first index is current, and second is max
-        this.strength = str;
-        this.endurance = end;
-        this.dexterity = dex;
-        this.speed = spd;
-        this.inventory = new Inventory();
-
-        if (className.equals("merchant")) {  // in this game, merchants always start with more gold
-            this.gold = STARTING_GOLD * 2;
-        } else {
-            this.gold = STARTING_GOLD;
-        }
+        this(name, Race.fromName(race), CharacterClass.fromName(className), hp, str, end, dex, spd);
     }
 
+    /*
+    REQUIRES: all integer values must be > 0
+    EFFECTS: Construct a well-formed character
+     */
+    public Character(String name, Race race, CharacterClass characterClass, int hp, int str, int end, int dex,
+                     int spd) {
+        this(name, race, characterClass, STARTING_LEVEL, hp, hp, str, end, dex, spd,
+                characterClass.getGoldPerLevel());  // in this game, merchants always start with more gold
+    }
+
+    // EFFECTS: Construct a character with every value given, or throw IllegalArgumentException if race or className
+    //          is unknown
     public Character(String name, String race, String className, int level,
                      int currentHP, int maxHP, int str, int end, int dex, int spd, int gold) {
+        this(name, Race.fromName(race), CharacterClass.fromName(className), level, currentHP, maxHP,
+                str, end, dex, spd, gold);
+    }
+
+    // EFFECTS: Construct a character with every value given
+    public Character(String name, Race race, CharacterClass characterClass, int level,
+                     int currentHP, int maxHP, int str, int end, int dex, int spd, int gold) {
         this.name = name;
         this.race = race;
-        this.className = className;
+        this.characterClass = characterClass;
         this.level = level;
-        this.hitpoints = Arrays.asList(currentHP, maxHP); // HP is a list
-        this.strength = str;
-        this.endurance = end;
-        this.dexterity = dex;
-        this.speed = spd;
+        this.currentHP = currentHP;
+        this.maxHP = maxHP;
+        this.baseStats = new StatTotals(str, end, dex, spd);
+        this.buffs = new ArrayList<>();
+        this.buffStats = StatTotals.ZERO;
+        this.multipliers = NO_MULTIPLIERS;
         this.inventory = new Inventory();  // this gets built in persistence
         this.gold = gold;
+        this.changedFields = ALL_CHANGED;  // nothing has been saved yet
+        this.listeners = NO_LISTENERS;
+    }
+
+    // MODIFIES: original (its inventory becomes shared until it changes)
+    // EFFECTS: Construct a copy of original that shares its inventory storage until either of them changes it.
+    //          The copy has no listeners and is not in concurrent mode
+    private Character(Character original) {
+        this.name = original.name;
+        this.race = original.race;
+        this.characterClass = original.characterClass;
+        this.level = original.level;
+        this.currentHP = original.currentHP;
+        this.maxHP = original.maxHP;
+        this.baseStats = original.baseStats;
+        this.buffs = new ArrayList<>(original.buffs.size());
+        for (Buff buff : original.buffs) {  // buffs count down, so each copy needs its own
+            this.buffs.add(new Buff(buff.getName(), buff.getStats(), buff.getRoundsLeft()));
+        }
+        this.buffStats = original.buffStats;
+        this.multipliers = original.multipliers;
+        this.version = original.version;
+        this.effective = original.effective;
+        this.inventory = original.inventory.snapshot();
+        this.gold = original.gold;
+        this.changedFields = original.changedFields;
+        this.listeners = NO_LISTENERS;
     }
 
     // EFFECTS: Produce the name of a character
@@ -94,12 +176,22 @@ public class Character implements Writable {
 
     // EFFECTS: Produce the race of a character
     public String getRace() {
-        return this.race;
+        return this.race.getName();
     }
 
-    // EFFECTS: Produce the name of a character
+    // EFFECTS: Produce the name of the class of a character
     public String getClassName() {
-        return this.className;
+        return this.characterClass.getName();
+    }
+
+    // EFFECTS: Produce the race of a character as a Race
+    public Race getCharacterRace() {
+        return this.race;
+    }
+
+    // EFFECTS: Produce the class of a character as a CharacterClass
+    public CharacterClass getCharacterClass() {
+        return this.characterClass;
     }
 
     // EFFECTS: Produce the current level of a character
@@ -109,32 +201,62 @@ public class Character implements Writable {
 
     // EFFECTS: Produce the current hp of a character
     public int getCurrentHealth() {
-        return this.hitpoints.get(0);
+        return this.currentHP;
     }
 
     // EFFECTS: Produce the max possible hp of a character
     public int getMaxHealth() {
-        return this.hitpoints.get(1);
+        return this.maxHP;
     }
 
-    // EFFECTS: Produce the total strength of a character, including equipment modifiers
+    // EFFECTS: Produce the total strength of a character, including equipment, buffs and multipliers
     public int getStrength() {
-        return this.strength + this.inventory.getTotalStrength();
+        return getEffectiveStats().getStrength();
     }
 
-    // EFFECTS: Produce the total endurance of a character, including equipment modifiers
+    // EFFECTS: Produce the total endurance of a character, including equipment, buffs and multipliers
     public int getEndurance() {
-        return this.endurance + this.inventory.getTotalEndurance();
+        return getEffectiveStats().getEndurance();
     }
 
-    // EFFECTS: Produce the total dexterity of a character, including equipment modifiers
+    // EFFECTS: Produce the total dexterity of a character, including equipment, buffs and multipliers
     public int getDexterity() {
-        return this.dexterity + this.inventory.getTotalDexterity();
+        return getEffectiveStats().getDexterity();
     }
 
-    // EFFECTS: Produce the total speed of a character, including equipment modifiers
+    // EFFECTS: Produce the total speed of a character, including equipment, buffs and multipliers
     public int getSpeed() {
-        return this.speed + this.inventory.getTotalSpeed();
+        return getEffectiveStats().getSpeed();
+    }
+
+    // EFFECTS: Produce the stats a character fights with (base, plus equipment and buffs, scaled by multipliers),
+    //          rebuilding them only if a layer has changed since they were last built. Throws ArithmeticException if
+    //          a stat overflows. The memo is replaced whole, so a thread never sees half of a rebuild
+    public StatTotals getEffectiveStats() {
+        Effective memo = this.effective;
+        StatTotals equipment = this.inventory.getTotalStats();  // a new object whenever the totals change
+        if (memo == null || memo.version != this.version || memo.equipment != equipment) {
+            StatTotals summed = this.baseStats.plus(equipment).plus(this.buffStats);
+            StatTotals stats = this.multipliers == NO_MULTIPLIERS ? summed : summed.scale(this.multipliers);
+            memo = new Effective(this.version, equipment, stats);
+            this.effective = memo;
+        }
+        return memo.stats;
+    }
+
+    // EFFECTS: Produce the active buffs of a character
+    public List<Buff> getBuffs() {
+        return Collections.unmodifiableList(this.buffs);
+    }
+
+    // EFFECTS: Produce the percentage multipliers of a character as a StatBlock
+    public long getMultipliers() {
+        return this.multipliers;
+    }
+
+    // EFFECTS: Produce the base stats of a character (without equipment modifiers)
+    public StatTotals getBaseStats() {
+        return this.baseStats;
     }
 
     // EFFECTS: Produce the current inventory of a character
@@ -148,16 +270,33 @@ public class Character implements Writable {
     }
 
     // MODIFIES: this
-    // EFFECTS: increase level by one and gain gold
+    // EFFECTS: increase level by one and gain gold (atomically in concurrent mode)
     //          Merchants earn twice as much gold as other classes
     public void levelUp() {
         this.level += 1;
-        // Merchants gain twice as much gold on level up
-        if (this.className.equals("merchant")) {
-            this.gold += STARTING_GOLD * 2;
+        int earned = this.characterClass.getGoldPerLevel();  // Merchants gain twice as much gold on level up
+        if (this.concurrent) {
+            GOLD.addAndGet(this, earned);
         } else {
-            this.gold += STARTING_GOLD;
+            this.gold += earned;
         }
+        markChanged(LEVEL_CHANGED | GOLD_CHANGED);
+    }
+
+    // REQUIRES: n >= 0
+    // MODIFIES: this
+    // EFFECTS: increase level by n and gain the gold of n level ups, exactly as n calls to levelUp() would, else
+    //          throws ArithmeticException (changing nothing) if the level or gold would overflow. The gold is
+    //          checked and added atomically in concurrent mode
+    public void levelUp(int n) {
+        int newLevel = Math.addExact(this.level, n);
+        int earned = Math.multiplyExact(n, this.characterClass.getGoldPerLevel());
+        int current;
+        do {
+            current = this.gold;
+        } while (!GOLD.compareAndSet(this, current, Math.addExact(current, earned)));
+        this.level = newLevel;
+        markChanged(LEVEL_CHANGED | GOLD_CHANGED);
     }
 
     // MODIFIES: this
@@ -165,68 +304,247 @@ public class Character implements Writable {
     //          Warriors gain the most HP, strength and endurance
     //          Rogues gain the most dexterity and speed
     //          Merchants gain the least of all stats, but gain more gold on level up to compensate
+    //          Throws IllegalArgumentException if className is not the name of a class
     public void increaseStats(String className) {
-        if (className.equals("warrior")) {
-            this.hitpoints.set(1, (this.hitpoints.get(1) + WARRIOR_HEALTH_INCREASE));  // Warrior hp increases
-            this.strength += FAVOURABLE_STAT_INCREASE;  // Warriors gain more strength and endurance
-            this.endurance += FAVOURABLE_STAT_INCREASE;
-            this.dexterity += UNFAVOURABLE_STAT_INCREASE;
-            this.speed += UNFAVOURABLE_STAT_INCREASE;
-
-        } else if (className.equals("rogue")) {
-            this.hitpoints.set(1, (this.hitpoints.get(1) + ROGUE_HEALTH_INCREASE));  // ROGUE hp increases
-            this.strength += UNFAVOURABLE_STAT_INCREASE;
-            this.endurance += UNFAVOURABLE_STAT_INCREASE;
-            this.dexterity += ROGUE_DEX_STAT_BONUS;  // Rogues gain more dex and speed
-            this.speed += FAVOURABLE_STAT_INCREASE;
-
-        } else {  // Merchant
-            this.hitpoints.set(1, (this.hitpoints.get(1) + MERCHANT_HEALTH_INCREASE));  // Merchant hp increases
-            this.strength += UNFAVOURABLE_STAT_INCREASE;  // Merchants don't gain much from stat increases, but
-            this.endurance += UNFAVOURABLE_STAT_INCREASE; // they gain a lot of gold on level up
-            this.dexterity += UNFAVOURABLE_STAT_INCREASE;
-            this.speed += UNFAVOURABLE_STAT_INCREASE;
-        }
+        increaseStats(CharacterClass.fromName(className));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: increase a players max HP and base stats by the growth of characterClass
+    public void increaseStats(CharacterClass characterClass) {
+        this.maxHP += characterClass.getHealthIncrease();
+        this.baseStats = this.baseStats.plus(characterClass.getStatIncrease());
+        this.version++;
+        markChanged(HEALTH_CHANGED | STATS_CHANGED);
+    }
+
+    // REQUIRES: n >= 0
+    // MODIFIES: this
+    // EFFECTS: increase a players max HP and base stats by n times the growth of the class named className, exactly
+    //          as n calls to increaseStats(className) would. Throws IllegalArgumentException if className is not the
+    //          name of a class, or ArithmeticException (changing nothing) if the max HP or a stat would overflow
+    public void increaseStats(String className, int n) {
+        increaseStats(CharacterClass.fromName(className), n);
+    }
+
+    // REQUIRES: n >= 0
+    // MODIFIES: this
+    // EFFECTS: increase a players max HP and base stats by n times the growth of characterClass, else throws
+    //          ArithmeticException (changing nothing) if the max HP or a stat would overflow
+    public void increaseStats(CharacterClass characterClass, int n) {
+        StatTotals grown = this.baseStats.plus(StatTotals.times(characterClass.getStatIncrease(), n));
+        int newMaxHP = Math.addExact(this.maxHP, Math.multiplyExact(n, characterClass.getHealthIncrease()));
+        this.baseStats = grown;
+        this.maxHP = newMaxHP;
+        this.version++;
+        markChanged(HEALTH_CHANGED | STATS_CHANGED);
     }
 
     // REQUIRES: amount >= this.gold
     // MODIFIES: this
     // EFFECTS: Removes a certain amount of gold from a character, where amount is the gold to be spent
     public void spendGold(int amount) {
-        this.gold -= amount;
+        if (this.concurrent) {
+            GOLD.addAndGet(this, -amount);
+        } else {
+            this.gold -= amount;
+        }
+        markChanged(GOLD_CHANGED);
+    }
+
+    // REQUIRES: amount must be a non negative integer
+    // MODIFIES: this
+    // EFFECTS: Removes amount gold from a character and returns true if they have at least that much, else changes
+    //          nothing and returns false. The check and the removal happen atomically in concurrent mode
+    public boolean trySpendGold(int amount) {
+        int current;
+        do {
+            current = this.gold;
+            if (current < amount) {
+                return false;
+            }
+        } while (!GOLD.compareAndSet(this, current, current - amount));
+        markChanged(GOLD_CHANGED);
+        return true;
     }
 
     // REQUIRES: amount must be a non negative integer
     // MODIFIES: this
     // EFFECTS: Heal a character by increasing their current health by a certain amount, or till it reached the max
     public void healCharacter(int amount) {
-        int maxHP = this.hitpoints.get(1);
-        int newHP = this.hitpoints.get(0) + amount;
-//        if (newHP > maxHP) {
-//            this.hitpoints.set(0, maxHP);
-//        } else {
-//            this.hitpoints.set(0, newHP);
-//        }
-        this.hitpoints.set(0, Math.min(newHP, maxHP));  // set HP to the whatever is smaller (new or max)
+        if (this.concurrent) {
+            int current;
+            do {
+                current = this.currentHP;
+            } while (!CURRENT_HP.compareAndSet(this, current, Math.min(current + amount, this.maxHP)));
+        } else {
+            this.currentHP = Math.min(this.currentHP + amount, this.maxHP);  // set HP to whatever is smaller
+        }
+        markChanged(HEALTH_CHANGED);
     }
 
     // REQUIRES: damage must be a non negative integer
     // MODIFIES: this
     // EFFECTS: Reduce the current HP of a character by a certain amount (damage)
     public void takeDamage(int damage) {
-        int current = this.hitpoints.get(0);
-        this.hitpoints.set(0, current - damage);
+        if (this.concurrent) {
+            CURRENT_HP.addAndGet(this, -damage);
+        } else {
+            this.currentHP -= damage;
+        }
+        markChanged(HEALTH_CHANGED);
     }
 
     // EFFECTS: Returns true if a character is dead (HP is less than or equal to 0)
     public boolean isAlive() {
-        return (this.hitpoints.get(0) > 0);
+        return (this.currentHP > 0);
     }
 
     // MODIFIES: This
     // EFFECTS: adds an equipment to a characters inventory
     public void equipItem(Equipment item) {
         this.inventory.addEquipment(item);
+        for (CharacterListener listener : this.listeners) {
+            listener.itemEquipped(this, item);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Produce a copy of a character that can be changed without changing the original. The inventory is
+    //          copied only when either of them changes it, so taking a snapshot is cheap. The copy has no listeners
+    //          and is not in concurrent mode. Taking a snapshot of a snapshot does not change it, so many threads may
+    //          copy one snapshot at once
+    public Character snapshot() {
+        return new Character(this);
+    }
+
+    // MODIFIES: this (its inventory becomes shared until it changes)
+    // EFFECTS: Produce what a character would become after change, without changing the character itself. For
+    //          example, preview(c -> c.equipItem(item)).getStrength() is the strength after equipping item
+    public Character preview(Consumer<Character> change) {
+        Character hypothetical = snapshot();
+        change.accept(hypothetical);
+        return hypothetical;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a buff to a character, else throws ArithmeticException (adding nothing) if a stat of the summed
+    //          buffs would overflow
+    public void addBuff(Buff buff) {
+        this.buffStats = this.buffStats.plus(buff.getStats());
+        this.buffs.add(buff);
+        this.version++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: uses up one round of every buff, removes the buffs that ran out and produces how many were removed
+    public int tickBuffs() {
+        int expired = 0;
+        for (int i = this.buffs.size() - 1; i >= 0; i--) {
+            Buff buff = this.buffs.get(i);
+            if (buff.tick()) {
+                this.buffs.remove(i);
+                this.buffStats = this.buffStats.minus(buff.getStats());
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            this.version++;
+        }
+        return expired;
+    }
+
+    // REQUIRES: every stat of percentages is >= 0
+    // MODIFIES: this
+    // EFFECTS: sets the percentage each stat is scaled by, as a StatBlock (NO_MULTIPLIERS leaves every stat unchanged)
+    public void setMultipliers(long percentages) {
+        this.multipliers = percentages;
+        this.version++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a listener to be told about every later change to a character
+    public synchronized void addListener(CharacterListener listener) {
+        CharacterListener[] added = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+        added[this.listeners.length] = listener;
+        this.listeners = added;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes a listener (if it was added) so it is no longer told about changes
+    public synchronized void removeListener(CharacterListener listener) {
+        for (int i = 0; i < this.listeners.length; i++) {
+            if (this.listeners[i] == listener) {
+                CharacterListener[] removed = new CharacterListener[this.listeners.length - 1];
+                System.arraycopy(this.listeners, 0, removed, 0, i);
+                System.arraycopy(this.listeners, i + 1, removed, i, removed.length - i);
+                this.listeners = removed;
+                return;
+            }
+        }
+    }
+
+    // REQUIRES: no other thread is using this character while the mode changes
+    // MODIFIES: this
+    // EFFECTS: Turns concurrent mode on or off. While on, takeDamage, healCharacter, spendGold and trySpendGold may be
+    //          called by many threads at once without losing updates, including the gold earned by levelUp
+    public void setConcurrent(boolean concurrent) {
+        this.concurrent = concurrent;
+    }
+
+    // EFFECTS: Returns true if a character is in concurrent mode
+    public boolean isConcurrent() {
+        return this.concurrent;
+    }
+
+    // EFFECTS: Produce the flags (LEVEL_CHANGED, HEALTH_CHANGED, STATS_CHANGED, GOLD_CHANGED) of the fields that have
+    //          changed since the last checkpoint. A character that was never checkpointed has every flag set
+    public int getChangedFields() {
+        return this.changedFields;
+    }
+
+    // EFFECTS: Returns true if any field or the inventory has changed since the last checkpoint
+    public boolean hasChanges() {
+        return this.changedFields != 0 || this.inventory.hasChangedSinceCheckpoint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Makes the current state of a character (and its inventory) the checkpoint, forgetting earlier changes
+    public void checkpoint() {
+        this.changedFields = 0;
+        this.inventory.checkpoint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Adds flags to the fields changed since the last checkpoint (atomically in concurrent mode), then tells
+    //          the listeners about the changes
+    private void markChanged(int flags) {
+        if (this.concurrent) {
+            int current;
+            do {
+                current = this.changedFields;
+            } while ((current & flags) != flags && !CHANGED_FIELDS.compareAndSet(this, current, current | flags));
+        } else {
+            this.changedFields |= flags;
+        }
+        if (this.listeners.length > 0) {
+            fireChanged(flags);
+        }
+    }
+
+    // EFFECTS: tells every listener about the changes to the fields in flags
+    private void fireChanged(int flags) {
+        for (CharacterListener listener : this.listeners) {
+            if ((flags & HEALTH_CHANGED) != 0) {
+                listener.healthChanged(this, this.currentHP, this.maxHP);
+            }
+            if ((flags & GOLD_CHANGED) != 0) {
+                listener.goldChanged(this, this.gold);
+            }
+            if ((flags & LEVEL_CHANGED) != 0) {
+                listener.levelChanged(this, this.level);
+            }
+        }
     }
 
     // EFFECTS: Produce a JSON corresponding to the current character's data
@@ -237,15 +555,15 @@ public class Character implements Writable {
         JSONObject json = new JSONObject();
 
         json.put("name", name);
-        json.put("race", race);
-        json.put("className", className);
+        json.put("race", race.getName());
+        json.put("className", characterClass.getName());
         json.put("level", level);
         json.put("currentHP", getCurrentHealth());
         json.put("maxHP", getMaxHealth());
-        json.put("strength", strength);
-        json.put("endurance", endurance);
-        json.put("dexterity", dexterity);
-        json.put("speed", speed);
+        json.put("strength", baseStats.getStrength());
+        json.put("endurance", baseStats.getEndurance());
+        json.put("dexterity", baseStats.getDexterity());
+        json.put("speed", baseStats.getSpeed());
         json.put("inventory", inventoryToJson());
         json.put("gold", gold);
 
@@ -258,18 +576,24 @@ public class Character implements Writable {
     private JSONArray inventoryToJson() {
         JSONArray jsonArray = new JSONArray();
 
-        for (int i = 0; i < inventory.getInventorySize(); i++) {
-            Equipment item;
-            try {
-                item = inventory.getEquipment(i);
-                jsonArray.put(item.toJson());
-            } catch (InvalidEquipmentException e) {
-                e.printStackTrace();
-            }
-        }
+        inventory.forEach((index, item) -> jsonArray.put(item.toJson()));
         return jsonArray;
     }
 
+    /**
+     * The effective stats of a character together with the version and inventory totals they were built from. A
+     * memo never changes, so it can be published to other threads in one write.
+     */
+    private static final class Effective {
+        private final int version;  // the version of the character the stats were built at
+        private final StatTotals equipment;  // the inventory totals the stats were built with
+        private final StatTotals stats;  // the stats the character fights with
+
+        // EFFECTS: constructs a memo of stats, built at version with the inventory totals equipment
+        private Effective(int version, StatTotals equipment, StatTotals stats) {
+            this.version = version;
+            this.equipment = equipment;
+            this.stats = stats;
+        }
+    }
 }
-
-
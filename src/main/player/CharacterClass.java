@@ -0,0 +1,92 @@
+package player;
+
+import model.StatBlock;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The CharacterClass enumeration lists every class a Character can have, along with how that class grows. Each class
+ * has a growth table entry: the max HP gained and the StatBlock added to the base stats whenever its stats increase,
+ * and the multiple of STARTING_GOLD it starts with and earns on every level up.
+ *
+ * Warriors gain the most HP, strength and endurance, rogues gain the most dexterity and speed, and merchants gain the
+ * least of everything but earn twice as much gold. The enemy classes grow like merchants without the gold bonus.
+ *
+ * @author Arjun
+ */
+public enum CharacterClass {
+    WARRIOR("warrior", Character.WARRIOR_HEALTH_INCREASE, Growth.WARRIOR, 1),
+    ROGUE("rogue", Character.ROGUE_HEALTH_INCREASE, Growth.ROGUE, 1),
+    MERCHANT("merchant", Character.MERCHANT_HEALTH_INCREASE, Growth.MINIMAL, 2),
+    KNIGHT("knight", Character.MERCHANT_HEALTH_INCREASE, Growth.MINIMAL, 1),
+    HUNTER("hunter", Character.MERCHANT_HEALTH_INCREASE, Growth.MINIMAL, 1),
+    WIZARD("wizard", Character.MERCHANT_HEALTH_INCREASE, Growth.MINIMAL, 1),
+    BARBARIAN("barbarian", Character.MERCHANT_HEALTH_INCREASE, Growth.MINIMAL, 1),
+    ASSASSIN("assassin", Character.MERCHANT_HEALTH_INCREASE, Growth.MINIMAL, 1),
+    CHAMPION("champion", Character.MERCHANT_HEALTH_INCREASE, Growth.MINIMAL, 1);
+
+    private static final Map<String, CharacterClass> BY_NAME = new HashMap<>();  // every class, by its name
+
+    static {
+        for (CharacterClass characterClass : values()) {
+            BY_NAME.put(characterClass.name, characterClass);
+        }
+    }
+
+    private final String name;  // the name of the class, as it is shown and saved
+    private final int healthIncrease;  // the max HP gained whenever the stats of the class increase
+    private final long statIncrease;  // the StatBlock added to the base stats whenever the stats of the class increase
+    private final int goldMultiplier;  // the multiple of STARTING_GOLD the class starts with and earns on level up
+
+    // EFFECTS: constructs a class with its growth table entry
+    CharacterClass(String name, int healthIncrease, long statIncrease, int goldMultiplier) {
+        this.name = name;
+        this.healthIncrease = healthIncrease;
+        this.statIncrease = statIncrease;
+        this.goldMultiplier = goldMultiplier;
+    }
+
+    // EFFECTS: produce the class with the given name, or throw IllegalArgumentException if there is no such class
+    public static CharacterClass fromName(String name) {
+        CharacterClass characterClass = BY_NAME.get(name);
+        if (characterClass == null) {
+            throw new IllegalArgumentException("There is no character class named " + name + ".");
+        }
+        return characterClass;
+    }
+
+    // EFFECTS: produce the name of the class
+    public String getName() {
+        return this.name;
+    }
+
+    // EFFECTS: produce the max HP gained whenever the stats of the class increase
+    public int getHealthIncrease() {
+        return this.healthIncrease;
+    }
+
+    // EFFECTS: produce the StatBlock added to the base stats whenever the stats of the class increase
+    public long getStatIncrease() {
+        return this.statIncrease;
+    }
+
+    // EFFECTS: produce the gold the class starts with, which is also the gold it earns on every level up
+    public int getGoldPerLevel() {
+        return Character.STARTING_GOLD * this.goldMultiplier;
+    }
+
+    // The StatBlocks added to the base stats of each class. Enum constants cannot refer to static fields of their own
+    // enum while being constructed, so they are kept in a nested class
+    private static final class Growth {
+        private static final long WARRIOR = StatBlock.of(Character.FAVOURABLE_STAT_INCREASE,
+                Character.FAVOURABLE_STAT_INCREASE, Character.UNFAVOURABLE_STAT_INCREASE,
+                Character.UNFAVOURABLE_STAT_INCREASE);  // more strength and endurance
+        private static final long ROGUE = StatBlock.of(Character.UNFAVOURABLE_STAT_INCREASE,
+                Character.UNFAVOURABLE_STAT_INCREASE, Character.ROGUE_DEX_STAT_BONUS,
+                Character.FAVOURABLE_STAT_INCREASE);  // more dexterity and speed
+        private static final long MINIMAL = StatBlock.of(Character.UNFAVOURABLE_STAT_INCREASE,
+                Character.UNFAVOURABLE_STAT_INCREASE, Character.UNFAVOURABLE_STAT_INCREASE,
+                Character.UNFAVOURABLE_STAT_INCREASE);
+    }
+}
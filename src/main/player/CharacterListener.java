@@ -0,0 +1,28 @@
+package player;
+
+import model.Equipment;
+
+/**
+ * The CharacterListener interface is told about changes to a Character it has been added to with addListener. Every
+ * method has an empty default, so a listener only overrides the events it cares about. Events are sent right after
+ * the change, on the thread that made it, with the new values.
+ *
+ * @author Arjun
+ */
+public interface CharacterListener {
+    // EFFECTS: handles a change to the current or max HP of character
+    default void healthChanged(Character character, int currentHP, int maxHP) {
+    }
+
+    // EFFECTS: handles a change to the gold of character
+    default void goldChanged(Character character, int gold) {
+    }
+
+    // EFFECTS: handles a change to the level of character
+    default void levelChanged(Character character, int level) {
+    }
+
+    // EFFECTS: handles an equipment being added to the inventory of character
+    default void itemEquipped(Character character, Equipment item) {
+    }
+}
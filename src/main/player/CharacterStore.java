@@ -0,0 +1,436 @@
+package player;
+
+import exceptions.InvalidEquipmentException;
+import model.Equipment;
+import model.EquipmentCatalog;
+import model.Inventory;
+import model.StatTotals;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import persistence.Writable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The CharacterStore class keeps a large number of characters in off-heap memory instead of as Character objects.
+ * Every character is a fixed-width record in a direct ByteBuffer holding its level, HP, gold, base stats, the summed
+ * stats of its equipment, the ids of its name, race and class, and the position of its inventory slice. Inventory
+ * slices are runs of item ids in a second direct buffer. An item id is its EquipmentCatalog id, or, for an item
+ * that is not in the catalog, a negative id into the store's own table of such items. Names and those items are
+ * interned by the store, so a million goblins named "Goblin Knight" share one String.
+ *
+ * Records are read and changed through a View, a flyweight that can be moved from record to record without
+ * allocating. A View produces the same JSON as Character.toJson, so stored characters can be saved with JsonWriter
+ * and loaded back with JsonReader.
+ *
+ * When an inventory slice is full it moves to the end of the item buffer with twice the room, so a character that
+ * keeps gaining items leaves its old slices behind as unused space.
+ *
+ * @author Arjun
+ */
+public class CharacterStore {
+    private static final int LEVEL = 0;  // These are the byte offsets of each field inside a record
+    private static final int CURRENT_HP = 4;
+    private static final int MAX_HP = 8;
+    private static final int GOLD = 12;
+    private static final int BASE_STATS = 16;  // four ints: strength, endurance, dexterity and speed
+    private static final int EQUIPMENT_STATS = 32;  // four ints: the summed modifiers of the inventory slice
+    private static final int NAME = 48;
+    private static final int RACE = 52;  // the ordinal of the Race, as a byte
+    private static final int CLASS = 53;  // the ordinal of the CharacterClass, as a byte
+    private static final int INVENTORY_START = 56;  // the position (in ids) of the first id of the inventory slice
+    private static final int INVENTORY_SIZE = 60;
+    private static final int INVENTORY_CAPACITY = 64;
+    private static final int RECORD_SIZE = 72;
+
+    private static final int STRENGTH = 0;  // These are the byte offsets of each stat inside BASE_STATS and
+    private static final int ENDURANCE = 4;  // EQUIPMENT_STATS
+    private static final int DEXTERITY = 8;
+    private static final int SPEED = 12;
+
+    private static final int MIN_SLICE = 4;  // the smallest inventory slice given to a character that has items
+    private static final Race[] RACES = Race.values();
+    private static final CharacterClass[] CLASSES = CharacterClass.values();
+
+    private ByteBuffer records;  // every record, one after another
+    private ByteBuffer items;  // the item ids of every inventory slice
+    private int size;  // the number of records
+    private int itemsUsed;  // the number of ids of the item buffer given to slices so far
+    private final List<String> names;  // the interned names, by id
+    private final Map<String, Integer> nameIds;  // the id of every interned name
+    private final List<Equipment> customItems;  // the interned items that are not in the catalog, by -1 - id
+    private final Map<Equipment, Integer> customIds;  // the id of every interned item not in the catalog, by value
+
+    // EFFECTS: constructs an empty store
+    public CharacterStore() {
+        this.records = ByteBuffer.allocateDirect(16 * RECORD_SIZE).order(ByteOrder.nativeOrder());
+        this.items = ByteBuffer.allocateDirect(16 * MIN_SLICE * Integer.BYTES).order(ByteOrder.nativeOrder());
+        this.names = new ArrayList<>();
+        this.nameIds = new HashMap<>();
+        this.customItems = new ArrayList<>();
+        this.customIds = new HashMap<>();
+    }
+
+    // EFFECTS: produce the number of characters in the store
+    public int size() {
+        return this.size;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: copies a character (with its inventory) into a new record and produces the index of that record, else
+    //          throws ArithmeticException (changing nothing) if the records would not fit in one buffer
+    public int add(Character character) {
+        this.records = ensureCapacity(this.records, Math.multiplyExact(this.size + 1, RECORD_SIZE));
+        int index = this.size;
+        this.size++;
+        int base = index * RECORD_SIZE;
+        this.records.putInt(base + LEVEL, character.getLevel());
+        this.records.putInt(base + CURRENT_HP, character.getCurrentHealth());
+        this.records.putInt(base + MAX_HP, character.getMaxHealth());
+        this.records.putInt(base + GOLD, character.getGold());
+        putStats(base + BASE_STATS, character.getBaseStats());
+        putStats(base + EQUIPMENT_STATS, StatTotals.ZERO);
+        this.records.putInt(base + NAME, internName(character.getName()));
+        this.records.put(base + RACE, (byte) character.getCharacterRace().ordinal());
+        this.records.put(base + CLASS, (byte) character.getCharacterClass().ordinal());
+        this.records.putInt(base + INVENTORY_START, 0);
+        this.records.putInt(base + INVENTORY_SIZE, 0);
+        this.records.putInt(base + INVENTORY_CAPACITY, 0);
+        equipAll(index, character.getInventory());
+        return index;
+    }
+
+    // REQUIRES: index == size() - 1
+    // MODIFIES: this
+    // EFFECTS: equips every item of inventory to the record at index, else removes that record again and throws
+    //          ArithmeticException if the items do not fit (any slice it was given is left behind as unused space)
+    private void equipAll(int index, Inventory inventory) {
+        View view = view(index);
+        try {
+            inventory.forEach((position, item) -> view.equipItem(item));
+        } catch (ArithmeticException e) {
+            this.size = index;
+            throw e;
+        }
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: produce a view of the record at index. The view can be moved to other records with moveTo
+    public View view(int index) {
+        return new View().moveTo(index);
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: produce a new Character object with the values of the record at index
+    public Character toCharacter(int index) {
+        View view = view(index);
+        StatTotals stats = view.getBaseStats();
+        Character character = new Character(view.getName(), view.getCharacterRace(), view.getCharacterClass(),
+                view.getLevel(), view.getCurrentHealth(), view.getMaxHealth(), stats.getStrength(),
+                stats.getEndurance(), stats.getDexterity(), stats.getSpeed(), view.getGold());
+        for (int i = 0; i < view.getInventorySize(); i++) {
+            character.equipItem(view.equipmentAt(i));
+        }
+        return character;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce the id of name, interning it if it has not been seen before
+    private int internName(String name) {
+        Integer id = this.nameIds.get(name);
+        if (id == null) {
+            id = this.names.size();
+            this.names.add(name);
+            this.nameIds.put(name, id);
+        }
+        return id;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce the id of item: its EquipmentCatalog id, or else a negative id into the items interned by
+    //          this store, interning item if no equal item has been seen before
+    private int itemId(Equipment item) {
+        int id = EquipmentCatalog.idOf(item);
+        if (id != EquipmentCatalog.NO_ID) {
+            return id;
+        }
+        Integer custom = this.customIds.get(item);
+        if (custom == null) {
+            custom = -1 - this.customItems.size();
+            this.customItems.add(item);
+            this.customIds.put(item, custom);
+        }
+        return custom;
+    }
+
+    // EFFECTS: produce the item with the given id
+    private Equipment itemWithId(int id) {
+        return id >= 0 ? EquipmentCatalog.getEquipment(id) : this.customItems.get(-1 - id);
+    }
+
+    // EFFECTS: produce the byte offset of the id at position in the item buffer, else throws ArithmeticException if
+    //          it does not fit in an int
+    private static int itemOffset(int position) {
+        return Math.multiplyExact(position, Integer.BYTES);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the four stats of stats to the records, starting at offset
+    private void putStats(int offset, StatTotals stats) {
+        this.records.putInt(offset + STRENGTH, stats.getStrength());
+        this.records.putInt(offset + ENDURANCE, stats.getEndurance());
+        this.records.putInt(offset + DEXTERITY, stats.getDexterity());
+        this.records.putInt(offset + SPEED, stats.getSpeed());
+    }
+
+    // EFFECTS: produce the four stats stored in the records starting at offset
+    private StatTotals getStats(int offset) {
+        return new StatTotals(this.records.getInt(offset + STRENGTH), this.records.getInt(offset + ENDURANCE),
+                this.records.getInt(offset + DEXTERITY), this.records.getInt(offset + SPEED));
+    }
+
+    // EFFECTS: produce buffer if it can hold bytes, or a copy of it with at least twice the room otherwise (but never
+    //          more than Integer.MAX_VALUE bytes, the most a buffer can hold)
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int bytes) {
+        if (bytes <= buffer.capacity()) {
+            return buffer;
+        }
+        int doubled = (int) Math.min(Integer.MAX_VALUE, 2L * buffer.capacity());
+        ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(bytes, doubled))
+                .order(ByteOrder.nativeOrder());
+        ByteBuffer old = buffer.duplicate();
+        old.clear();
+        grown.put(old);
+        grown.clear();
+        return grown;
+    }
+
+    /**
+     * A View reads and changes one record of the store at a time, with the same methods as a Character. Moving a
+     * view to another record does not allocate, so one view can walk every record of the store.
+     */
+    public final class View implements Writable {
+        private int index;  // the index of the record this view is on
+        private int base;  // the byte offset of that record
+
+        // REQUIRES: 0 <= index < size()
+        // MODIFIES: this
+        // EFFECTS: moves this view to the record at index and produces this view
+        public View moveTo(int index) {
+            this.index = index;
+            this.base = index * RECORD_SIZE;
+            return this;
+        }
+
+        // EFFECTS: produce the index of the record this view is on
+        public int getIndex() {
+            return this.index;
+        }
+
+        // EFFECTS: produce the name of the character
+        public String getName() {
+            return names.get(records.getInt(this.base + NAME));
+        }
+
+        // EFFECTS: produce the name of the race of the character
+        public String getRace() {
+            return getCharacterRace().getName();
+        }
+
+        // EFFECTS: produce the name of the class of the character
+        public String getClassName() {
+            return getCharacterClass().getName();
+        }
+
+        // EFFECTS: produce the race of the character
+        public Race getCharacterRace() {
+            return RACES[records.get(this.base + RACE)];
+        }
+
+        // EFFECTS: produce the class of the character
+        public CharacterClass getCharacterClass() {
+            return CLASSES[records.get(this.base + CLASS)];
+        }
+
+        // EFFECTS: produce the level of the character
+        public int getLevel() {
+            return records.getInt(this.base + LEVEL);
+        }
+
+        // EFFECTS: produce the current HP of the character
+        public int getCurrentHealth() {
+            return records.getInt(this.base + CURRENT_HP);
+        }
+
+        // EFFECTS: produce the max HP of the character
+        public int getMaxHealth() {
+            return records.getInt(this.base + MAX_HP);
+        }
+
+        // EFFECTS: produce the total strength of the character, including equipment modifiers
+        public int getStrength() {
+            return stat(STRENGTH);
+        }
+
+        // EFFECTS: produce the total endurance of the character, including equipment modifiers
+        public int getEndurance() {
+            return stat(ENDURANCE);
+        }
+
+        // EFFECTS: produce the total dexterity of the character, including equipment modifiers
+        public int getDexterity() {
+            return stat(DEXTERITY);
+        }
+
+        // EFFECTS: produce the total speed of the character, including equipment modifiers
+        public int getSpeed() {
+            return stat(SPEED);
+        }
+
+        // EFFECTS: produce the base stats of the character (without equipment modifiers)
+        public StatTotals getBaseStats() {
+            return getStats(this.base + BASE_STATS);
+        }
+
+        // EFFECTS: produce the summed modifiers of the equipment of the character
+        public StatTotals getEquipmentStats() {
+            return getStats(this.base + EQUIPMENT_STATS);
+        }
+
+        // EFFECTS: produce the gold of the character
+        public int getGold() {
+            return records.getInt(this.base + GOLD);
+        }
+
+        // EFFECTS: produce the number of equipment in the inventory of the character
+        public int getInventorySize() {
+            return records.getInt(this.base + INVENTORY_SIZE);
+        }
+
+        // EFFECTS: produce the equipment at position in the inventory of the character,
+        //          or throw InvalidEquipmentException if position is out of bounds
+        public Equipment getEquipment(int position) throws InvalidEquipmentException {
+            if (position < 0 || position >= getInventorySize()) {
+                throw new InvalidEquipmentException("That equipment is out of bounds.");
+            }
+            return equipmentAt(position);
+        }
+
+        // EFFECTS: returns true if the character is alive (HP is greater than 0)
+        public boolean isAlive() {
+            return getCurrentHealth() > 0;
+        }
+
+        // REQUIRES: damage must be a non negative integer
+        // MODIFIES: CharacterStore
+        // EFFECTS: reduces the current HP of the character by damage
+        public void takeDamage(int damage) {
+            records.putInt(this.base + CURRENT_HP, getCurrentHealth() - damage);
+        }
+
+        // REQUIRES: amount must be a non negative integer
+        // MODIFIES: CharacterStore
+        // EFFECTS: heals the character by amount, up to its max HP
+        public void healCharacter(int amount) {
+            records.putInt(this.base + CURRENT_HP, Math.min(getCurrentHealth() + amount, getMaxHealth()));
+        }
+
+        // REQUIRES: amount <= getGold()
+        // MODIFIES: CharacterStore
+        // EFFECTS: removes amount gold from the character
+        public void spendGold(int amount) {
+            records.putInt(this.base + GOLD, getGold() - amount);
+        }
+
+        // MODIFIES: CharacterStore
+        // EFFECTS: increases the level of the character by one and gives it the gold its class earns
+        public void levelUp() {
+            records.putInt(this.base + LEVEL, getLevel() + 1);
+            records.putInt(this.base + GOLD, getGold() + getCharacterClass().getGoldPerLevel());
+        }
+
+        // MODIFIES: CharacterStore
+        // EFFECTS: increases the max HP and base stats of the character by the growth of its class
+        public void increaseStats() {
+            CharacterClass characterClass = getCharacterClass();
+            records.putInt(this.base + MAX_HP, getMaxHealth() + characterClass.getHealthIncrease());
+            putStats(this.base + BASE_STATS, getBaseStats().plus(characterClass.getStatIncrease()));
+        }
+
+        // MODIFIES: CharacterStore
+        // EFFECTS: adds an equipment to the end of the inventory of the character, else throws ArithmeticException
+        //          (changing nothing) if a stat would overflow or the item buffer cannot grow any further
+        public void equipItem(Equipment item) {
+            StatTotals equipment = getEquipmentStats().plus(item.getStats());
+            int inventorySize = getInventorySize();
+            if (inventorySize == records.getInt(this.base + INVENTORY_CAPACITY)) {
+                growSlice(inventorySize);
+            }
+            int start = records.getInt(this.base + INVENTORY_START);
+            items.putInt(itemOffset(start + inventorySize), itemId(item));
+            records.putInt(this.base + INVENTORY_SIZE, inventorySize + 1);
+            putStats(this.base + EQUIPMENT_STATS, equipment);
+        }
+
+        // EFFECTS: produce a JSON in the same format as Character.toJson
+        @Override
+        public JSONObject toJson() {
+            StatTotals stats = getBaseStats();
+            JSONObject json = new JSONObject();
+            json.put("name", getName());
+            json.put("race", getRace());
+            json.put("className", getClassName());
+            json.put("level", getLevel());
+            json.put("currentHP", getCurrentHealth());
+            json.put("maxHP", getMaxHealth());
+            json.put("strength", stats.getStrength());
+            json.put("endurance", stats.getEndurance());
+            json.put("dexterity", stats.getDexterity());
+            json.put("speed", stats.getSpeed());
+            JSONArray inventory = new JSONArray();
+            for (int i = 0; i < getInventorySize(); i++) {
+                inventory.put(equipmentAt(i).toJson());
+            }
+            json.put("inventory", inventory);
+            json.put("gold", getGold());
+            return json;
+        }
+
+        // EFFECTS: produce the stat at offset (inside a block of four stats) including equipment modifiers
+        private int stat(int offset) {
+            return records.getInt(this.base + BASE_STATS + offset)
+                    + records.getInt(this.base + EQUIPMENT_STATS + offset);
+        }
+
+        // REQUIRES: 0 <= position < getInventorySize()
+        // EFFECTS: produce the equipment at position in the inventory of the character
+        private Equipment equipmentAt(int position) {
+            int start = records.getInt(this.base + INVENTORY_START);
+            return itemWithId(items.getInt(itemOffset(start + position)));
+        }
+
+        // MODIFIES: CharacterStore
+        // EFFECTS: gives the inventory slice of the character twice the room. A slice at the end of the item buffer
+        //          grows in place; any other slice is copied to the end. Throws ArithmeticException (changing
+        //          nothing) if the item buffer could not hold the grown slice
+        private void growSlice(int inventorySize) {
+            int start = records.getInt(this.base + INVENTORY_START);
+            int capacity = Math.max(MIN_SLICE, Math.multiplyExact(inventorySize, 2));
+            boolean atEnd = inventorySize > 0 && start + inventorySize == itemsUsed;
+            int newStart = atEnd ? start : itemsUsed;
+            int used = Math.addExact(newStart, capacity);
+            items = ensureCapacity(items, itemOffset(used));
+            itemsUsed = used;
+            for (int i = 0; i < inventorySize && !atEnd; i++) {
+                items.putInt(itemOffset(newStart + i), items.getInt(itemOffset(start + i)));
+            }
+            records.putInt(this.base + INVENTORY_START, newStart);
+            records.putInt(this.base + INVENTORY_CAPACITY, capacity);
+        }
+    }
+}
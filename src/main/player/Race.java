@@ -0,0 +1,50 @@
+package player;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The Race enumeration lists every race a Character can be. Players may be humans, dwarves or elves; the other races
+ * only appear as arena enemies.
+ *
+ * @author Arjun
+ */
+public enum Race {
+    HUMAN("human"),
+    DWARF("dwarf"),
+    ELF("elf"),
+    GOBLIN("goblin"),
+    LICH("lich"),
+    CYCLOPS("cyclops"),
+    TIEFLING("tiefling"),
+    UNKNOWN("???");
+
+    private static final Map<String, Race> BY_NAME = new HashMap<>();  // every race, by its name
+
+    static {
+        for (Race race : values()) {
+            BY_NAME.put(race.name, race);
+        }
+    }
+
+    private final String name;  // the name of the race, as it is shown and saved
+
+    // EFFECTS: constructs a race with its name
+    Race(String name) {
+        this.name = name;
+    }
+
+    // EFFECTS: produce the race with the given name, or throw IllegalArgumentException if there is no such race
+    public static Race fromName(String name) {
+        Race race = BY_NAME.get(name);
+        if (race == null) {
+            throw new IllegalArgumentException("There is no race named " + name + ".");
+        }
+        return race;
+    }
+
+    // EFFECTS: produce the name of the race
+    public String getName() {
+        return this.name;
+    }
+}
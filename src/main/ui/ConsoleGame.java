@@ -1,9 +1,14 @@
 package ui;
 
 import exceptions.InvalidEquipmentException;
+import model.CombatEngine;
+import model.CombatListener;
 import model.Equipment;
+import model.EquipmentCatalog;
+import model.GameRandom;
 import model.Inventory;
 import org.json.JSONException;
+import persistence.CombatRecorder;
 import persistence.JsonReader;
 import persistence.JsonWriter;
 import player.Character;
@@ -11,7 +16,6 @@ import player.Character;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Objects;
-import java.util.Random;
 import java.util.Scanner;
 
 /**
@@ -25,6 +29,7 @@ import java.util.Scanner;
 public class ConsoleGame {
     private Scanner input;
     private static final String JSON_SAVE = "./data/save.json";
+    private static final String COMBAT_LOG = "./data/combats.log";  // every fight is recorded here for replays
     private final JsonWriter jsonWriter;
     private final JsonReader jsonReader;
     private Character player;
@@ -36,19 +41,25 @@ public class ConsoleGame {
     // sold divided by two (it controls the while loop
     // in generateStore
 
-    // This number is used to determine the number that randomInteger is allowed to reach when generating equipment.
-    // If more equipment is added to that function, this number needs to change.
-    private static final int RANDOM_ITEM_SELECTOR = 12;
+    // This number is used to determine the highest roll allowed when generating equipment.
+    // The items each roll produces are defined in the EquipmentCatalog.
+    private static final int RANDOM_ITEM_SELECTOR = EquipmentCatalog.MAX_ROLL;
     private static final int PRICE_OF_SMALL_TRAINING = 30;  // Price of a small training room in gold
     private static final int PRICE_OF_LARGE_TRAINING = 50;  // Price of a large training room in gold
     private static final int PRICE_OF_SMALL_POTION = 10;  // Price of a small potion
     private static final int PRICE_OF_LARGE_POTION = 20;  // Price of a large potion
     private static final int HEALTH_FROM_SMALL_POTION = 10;  // Amount of health healed from a small potion
     private static final int HEALTH_FROM_LARGE_POTION = 25;  // Amount of health healed from a large potion
-    private static final int DEXTERITY_ROLL = 60; // Used for determining if an attack will miss (DEX > RANDOM_INT)
+    private final GameRandom random;  // every roll of this game comes from here
 
-    // EFFECTS: runs the game application
+    // EFFECTS: runs the game application with unpredictable rolls
     public ConsoleGame() throws FileNotFoundException {
+        this(new GameRandom());
+    }
+
+    // EFFECTS: runs the game application taking every roll from random
+    public ConsoleGame(GameRandom random) throws FileNotFoundException {
+        this.random = random;
         jsonWriter = new JsonWriter(JSON_SAVE);  // we need to check right away if the save file exists
         jsonReader = new JsonReader(JSON_SAVE);
         setUpGame();
@@ -364,67 +375,13 @@ public class ConsoleGame {
         Inventory shopInventory = new Inventory();
 
         while (count < NUMBER_OF_EQUIPMENT_PAIRS_SOLD) {  // We want the shop to only contain a certain number of items
-            shopInventory.addEquipment(generateWeapon(generateRandomInteger(RANDOM_ITEM_SELECTOR)));
-            shopInventory.addEquipment(generateArmour(generateRandomInteger(RANDOM_ITEM_SELECTOR)));
+            shopInventory.addEquipment(EquipmentCatalog.rollWeapon(random.roll(RANDOM_ITEM_SELECTOR)));
+            shopInventory.addEquipment(EquipmentCatalog.rollArmour(random.roll(RANDOM_ITEM_SELECTOR)));
             count += 1;
         }
         return shopInventory;
     }
 
-    // REQUIRES: itemNumber must be within [0, RANDOM_ITEM_SELECTOR]
-    // EFFECTS: produce an equipment (stylized as a weapon) based on the number received
-    private Equipment generateWeapon(int itemNumber) {
-        if (itemNumber == 0 || itemNumber == 1 || itemNumber == 2) {
-            return new Equipment("iron dagger", 1, 0, 1, 0, 25);
-
-        } else if (itemNumber == 3 || itemNumber == 4 || itemNumber == 5) {
-            return new Equipment("iron sword", 2, 0, 0, 0, 25);
-
-        } else if (itemNumber == 6 || itemNumber == 7) {
-            return new Equipment("swift bow", 1, 0, 2, 2, 50);
-
-        } else if (itemNumber == 8 || itemNumber == 9) {
-            return new Equipment("dark blade", 3, 0, 2, 0, 50);
-
-        } else if (itemNumber == 10) {
-            return new Equipment("demonic dagger", 4, 0, 6, 5, 100);
-
-        } else if (itemNumber == 11) {
-            return new Equipment("holy longsword", 11, 0, 4, 0, 100);
-
-        } else {
-            return new Equipment("weapon of champions", 10, 10, 10, 10, 200);
-
-        }
-    }
-
-    // REQUIRES: itemNumber must be within [0, RANDOM_ITEM_SELECTOR]
-    // EFFECTS: produce an equipment (stylized as armour) based on the number received
-    private Equipment generateArmour(int itemNumber) {
-        if (itemNumber == 0 || itemNumber == 1 || itemNumber == 2) {
-            return new Equipment("wooden shield", 0, 2, 0, 0, 25);
-
-        } else if (itemNumber == 3 || itemNumber == 4 || itemNumber == 5) {
-            return new Equipment("leather boots", 0, 0, 0, 2, 25);
-
-        } else if (itemNumber == 6 || itemNumber == 7) {
-            return new Equipment("armour of strength", 2, 3, 0, 0, 50);
-
-        } else if (itemNumber == 8 || itemNumber == 9) {
-            return new Equipment("tunic of speed", 0, 1, 1, 3, 50);
-
-        } else if (itemNumber == 10) {
-            return new Equipment("godly armour", 2, 10, 1, 1, 100);
-
-        } else if (itemNumber == 11) {
-            return new Equipment("token of true sight", 1, 1, 12, 1, 100);
-
-        } else {
-            return new Equipment("amulet of champions", 10, 10, 10, 10, 200);
-
-        }
-    }
-
     // EFFECTS: Provides core UI for training a character and receiving user input
     private void train(Character player) {
         input = new Scanner(System.in);
@@ -468,8 +425,7 @@ public class ConsoleGame {
         } else if (selection.equals("2")) {  // Large training (TRAINS TWICE)
             if (gold >= PRICE_OF_LARGE_TRAINING) {
                 player.spendGold(PRICE_OF_LARGE_TRAINING);
-                player.increaseStats(playerClass);
-                player.increaseStats(playerClass);  // Bonus training due to large training
+                player.increaseStats(playerClass, 2);  // Bonus training due to large training
                 System.out.println("\nAmazing! I feel a lot stronger!");
 
             } else {
@@ -551,11 +507,11 @@ public class ConsoleGame {
         Character enemy = generateEnemy(player.getLevel());  // Generate an enemy
         printEnemy(enemy);  // Inform the player of who they are fighting
 
-        if (player.getSpeed() > enemy.getSpeed()) {  // The faster character goes first
-            combat(player, enemy);
-        } else {
-            combat(enemy, player);
-        }
+        input = new Scanner(System.in);
+        long seed = random.nextSeed();  // each fight rolls from its own seed, so its log can be replayed
+        CombatRecorder recorder = new CombatRecorder(seed, player, enemy);
+        new CombatEngine(new GameRandom(seed), recorder, new CombatLog()).fight(player, enemy);  // faster goes first
+        recordCombat(recorder);
 
         System.out.println("\nThe round is over.");
 
@@ -564,6 +520,15 @@ public class ConsoleGame {
         }
     }
 
+    // EFFECTS: Adds the log of a fight to the combat log file
+    private void recordCombat(CombatRecorder recorder) {
+        try {
+            recorder.appendTo(COMBAT_LOG);
+        } catch (IOException e) {
+            System.out.println("Unable to write to file: " + COMBAT_LOG);
+        }
+    }
+
     // EFFECTS: Produce an enemy corresponding to a players level
     private Character generateEnemy(int level) {
         // These are enemies that correspond to a player level
@@ -589,58 +554,31 @@ public class ConsoleGame {
         }
     }
 
-    // EFFECTS: Handles turn based combat
-    private void combat(Character player1, Character player2) {
-        input = new Scanner(System.in);
-        int playerOneHealth = player1.getCurrentHealth();  // Sentinel values for player health
-        int playerTwoHealth = player2.getCurrentHealth();
-
-        while (playerOneHealth > 0 && playerTwoHealth > 0) {  // End the while loop if either player is dead
-            System.out.println("\n(press enter to continue)");
-            String wait = input.nextLine();  // User response to continue the game (prevents wall of text)
-            attack(player1, player2);  // faster player attacks first
-            playerTwoHealth = player2.getCurrentHealth();
-
-            if (playerTwoHealth <= 0) {  // This if statement is needed to prevent bugs
-                break;
-            }
-
+    // EFFECTS: Prints each attack of a fight, waiting for the player before every one
+    private class CombatLog implements CombatListener {
+        @Override
+        public void attackStarted(Character attacker, Character defender) {
             System.out.println("\n(press enter to continue)");
-            String wait2 = input.nextLine();  // User response to continue the game (prevents wall of text)
-            attack(player2, player1);
-            playerOneHealth = player1.getCurrentHealth();
+            input.nextLine();  // User response to continue the game (prevents wall of text)
         }
-    }
-
-    // MODIFIES: Character defender by potentially lowering their current HP
-    // EFFECTS: Allow attackers to damage a defender or miss if they have low dexterity
-    private void attack(Character attacker, Character defender) {
-        int chanceToHit = generateRandomInteger(DEXTERITY_ROLL);  // Produce a random number. If DEX > this number
-        // then the attack will hit, or else it misses.
 
-        if (attacker.getDexterity() >= chanceToHit) {  // If attacker DEX is greater than the random number, it hits
+        @Override
+        public void attackHit(Character attacker, Character defender, int damage) {
             System.out.printf("\n%s hits %s.", attacker.getName(), defender.getName());
-            int damage = attacker.getStrength() - defender.getEndurance() / 2;  // Calculate damage (END mitigates some)
-
-            if (damage <= 0) {  // Always deal at least 1 damage if an attack hits
-                defender.takeDamage(1);
-            } else {
-                defender.takeDamage(damage);  // If damage is > 0, deal the full number
+            if (defender.isAlive()) {
+                System.out.printf("\n%s is still alive, with %d health remaining.",
+                        defender.getName(), defender.getCurrentHealth());
             }
+        }
 
-            battleMessage(attacker.getName(), defender.getName(), defender.getCurrentHealth());  // Print results
-
-        } else {
-            System.out.printf("\n%s missed.", attacker.getName());  // Let the player know the attack missed.
+        @Override
+        public void attackMissed(Character attacker, Character defender) {
+            System.out.printf("\n%s missed.", attacker.getName());
         }
-    }
 
-    // EFFECTS: Print an informative message of the results of a combat attack.
-    private void battleMessage(String attacker, String defender, int defenderHealth) {
-        if (defenderHealth <= 0) {
-            System.out.printf("\n%s has slain %s.", attacker, defender);
-        } else {
-            System.out.printf("\n%s is still alive, with %d health remaining.", defender, defenderHealth);
+        @Override
+        public void characterSlain(Character attacker, Character defender) {
+            System.out.printf("\n%s has slain %s.", attacker.getName(), defender.getName());
         }
     }
 
@@ -665,24 +603,15 @@ public class ConsoleGame {
         if (inventory.getInventorySize() == 0) {
             System.out.println("\nMy inventory is empty.");
         } else {
-            for (int i = 0; i < inventory.getInventorySize(); i++) {  // Print out each Equipment in an Inventory
-                Equipment item;
-                try {
-                    item = inventory.getEquipment(i);
-                    System.out.printf("\n%d. %s: "
-                                    + "\nStrength - %d   Endurance - %d   Dexterity - %d   Speed - %d   VALUE: %d\n",
-                            i + 1,
-                            item.getName().substring(0, 1).toUpperCase() + item.getName().substring(1), // capitalize
-                            item.getStrength(),
-                            item.getEndurance(),
-                            item.getDexterity(),
-                            item.getSpeed(),
-                            item.getWorth());
-                } catch (InvalidEquipmentException e) {
-                    e.printStackTrace();
-                }
-
-            }
+            inventory.forEach((index, item) -> System.out.printf("\n%d. %s: "
+                            + "\nStrength - %d   Endurance - %d   Dexterity - %d   Speed - %d   VALUE: %d\n",
+                    index + 1,
+                    item.getName().substring(0, 1).toUpperCase() + item.getName().substring(1), // capitalize
+                    item.getStrength(),
+                    item.getEndurance(),
+                    item.getDexterity(),
+                    item.getSpeed(),
+                    item.getWorth()));
         }
 
     }
@@ -704,13 +633,6 @@ public class ConsoleGame {
                 player.getGold());
     }
 
-    // REQUIRES: upperbound must be a positive integer represent the highest integer you want to possibly get
-    // EFFECTS: Generates a random integer from [0, upperbound] inclusive
-    private int generateRandomInteger(int upperbound) {
-        Random random = new Random();  // Start a random class object
-        return random.nextInt(upperbound + 1);  // Return a random int (the + 1 is needed to include upperbound)
-    }
-
     // EFFECTS: Determine if a string is an integer
     public boolean isInteger(String input) {
         try {
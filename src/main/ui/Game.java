@@ -1,12 +1,20 @@
 package ui;
 
 import exceptions.InvalidEquipmentException;
+import model.ArenaRoster;
+import model.CombatEngine;
+import model.CombatListener;
 import model.Equipment;
+import model.EquipmentCatalog;
+import model.FightOdds;
+import model.GameRandom;
 import model.Inventory;
 import org.json.JSONException;
+import persistence.CombatRecorder;
 import persistence.JsonReader;
 import persistence.JsonWriter;
 import player.Character;
+import player.CharacterListener;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
@@ -17,7 +25,6 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.Random;
 
 /**
  * The Game class is the main handler of gameplay. It requires no parameters, and once a new Game is
@@ -38,12 +45,16 @@ public class Game extends JFrame {
     public static final Font NORMAL_FONT = new Font("Arial", Font.PLAIN, 21);
 
     private JPanel header;
+    private JLabel levelLabel;  // the header labels that change while playing; they are updated by a HeaderListener
+    private JLabel healthLabel;
+    private JLabel goldLabel;
     private JPanel menuArea;
     private JTextArea mainTextArea;
     private JScrollPane scrollPane;
     private JScrollBar scrollBar;
 
     private static final String JSON_SAVE = "./data/save.json";
+    private static final String COMBAT_LOG = "./data/combats.log";  // every fight is recorded here for replays
     private final JsonWriter jsonWriter;
     private final JsonReader jsonReader;
 
@@ -61,19 +72,28 @@ public class Game extends JFrame {
     private int stock;  // This number is the number of items in stock in the store right now.
     private Inventory shop;
 
-    // This number is used to determine the number that randomInteger is allowed to reach when generating equipment.
-    // If more equipment is added to that function, this number needs to change.
-    private static final int RANDOM_ITEM_SELECTOR = 12;
+    // This number is used to determine the highest roll allowed when generating equipment.
+    // The items each roll produces are defined in the EquipmentCatalog.
+    private static final int RANDOM_ITEM_SELECTOR = EquipmentCatalog.MAX_ROLL;
     private static final int PRICE_OF_SMALL_TRAINING = 30;  // Price of a small training room in gold
     private static final int PRICE_OF_LARGE_TRAINING = 50;  // Price of a large training room in gold
     private static final int PRICE_OF_SMALL_POTION = 10;  // Price of a small potion
     private static final int PRICE_OF_LARGE_POTION = 20;  // Price of a large potion
     private static final int HEALTH_FROM_SMALL_POTION = 10;  // Amount of health healed from a small potion
     private static final int HEALTH_FROM_LARGE_POTION = 25;  // Amount of health healed from a large potion
-    private static final int DEXTERITY_ROLL = 60; // Used for determining if an attack will miss (DEX > RANDOM_INT)
+    private final GameRandom random;  // every roll of this game comes from here
+    private CombatEngine combatEngine;  // resolves the current fight
+    private CombatRecorder combatRecorder;  // records the current fight
 
+    // EFFECTS: runs the game application with unpredictable rolls
     public Game() throws FileNotFoundException {
+        this(new GameRandom());
+    }
+
+    // EFFECTS: runs the game application taking every roll from random
+    public Game(GameRandom random) throws FileNotFoundException {
         super("Arena Fighter");
+        this.random = random;
         jsonWriter = new JsonWriter(JSON_SAVE);  // we need to check right away if the save file exists
         jsonReader = new JsonReader(JSON_SAVE);
         initializeGraphics();
@@ -383,28 +403,37 @@ public class Game extends JFrame {
         if (shop.getInventorySize() == 0) {
             mainTextArea.append("\"Good luck in the arena!\"\n");
         } else {
-            for (int i = 0; i < shop.getInventorySize(); i++) {  // Print out each Equipment in an Inventory
-                Equipment item;
-                try {
-                    item = shop.getEquipment(i);
-                    mainTextArea.append(String.format("\n%d. %s: "
-                                    + "\nStrength - %d   Endurance - %d   Dexterity - %d   Speed - %d   VALUE: %d\n",
-                            i + 1,
-                            item.getName().substring(0, 1).toUpperCase() + item.getName().substring(1), // Capitalize
-                            item.getStrength(),
-                            item.getEndurance(),
-                            item.getDexterity(),
-                            item.getSpeed(),
-                            item.getWorth()));
-
-                } catch (InvalidEquipmentException e) {
-                    System.out.println("ERR: Inventory item is out of bounds.");
-                }
-
-            }
+            shop.forEach((index, item) -> {
+                mainTextArea.append(describeEquipment(index, item));
+                mainTextArea.append(describePreview("Equipped", player.preview(c -> c.equipItem(item))));
+            });
         }
     }
 
+    // EFFECTS: produce a line showing how the stats of the player would change if they became after
+    private String describePreview(String change, Character after) {
+        return String.format("%s: HP %d -> %d   STR %d -> %d   END %d -> %d   DEX %d -> %d   SPD %d -> %d\n",
+                change,
+                player.getMaxHealth(), after.getMaxHealth(),
+                player.getStrength(), after.getStrength(),
+                player.getEndurance(), after.getEndurance(),
+                player.getDexterity(), after.getDexterity(),
+                player.getSpeed(), after.getSpeed());
+    }
+
+    // EFFECTS: produce the numbered description of an equipment shown in shop and inventory listings
+    private String describeEquipment(int index, Equipment item) {
+        return String.format("\n%d. %s: "
+                        + "\nStrength - %d   Endurance - %d   Dexterity - %d   Speed - %d   VALUE: %d\n",
+                index + 1,
+                item.getName().substring(0, 1).toUpperCase() + item.getName().substring(1), // Capitalize
+                item.getStrength(),
+                item.getEndurance(),
+                item.getDexterity(),
+                item.getSpeed(),
+                item.getWorth());
+    }
+
     // MODIFIES: this
     // EFFECTS: Create a menu for shopping
     private void fillShopMenuArea() {
@@ -492,7 +521,6 @@ public class Game extends JFrame {
         mainTextArea.setText(null); // reset the text area so its not messy
         fillShopMenuArea();
         displayShop();
-        updateHeader();
         mainTextArea.append(String.format("\nYou buy the %s.\n", equipment.getName()));  // Informative message
     }
 
@@ -502,74 +530,13 @@ public class Game extends JFrame {
         Inventory shopInventory = new Inventory();
 
         while (count < NUMBER_OF_EQUIPMENT_PAIRS_SOLD) {  // We want the shop to only contain a certain number of items
-            shopInventory.addEquipment(generateWeapon(generateRandomInteger(RANDOM_ITEM_SELECTOR)));
-            shopInventory.addEquipment(generateArmour(generateRandomInteger(RANDOM_ITEM_SELECTOR)));
+            shopInventory.addEquipment(EquipmentCatalog.rollWeapon(random.roll(RANDOM_ITEM_SELECTOR)));
+            shopInventory.addEquipment(EquipmentCatalog.rollArmour(random.roll(RANDOM_ITEM_SELECTOR)));
             count += 1;
         }
         return shopInventory;
     }
 
-    // REQUIRES: itemNumber must be within [0, RANDOM_ITEM_SELECTOR]
-    // EFFECTS: produce an equipment (stylized as a weapon) based on the number received
-    private Equipment generateWeapon(int itemNumber) {
-        if (itemNumber == 0 || itemNumber == 1 || itemNumber == 2) {
-            return new Equipment("iron dagger", 1, 0, 1, 0, 25);
-
-        } else if (itemNumber == 3 || itemNumber == 4 || itemNumber == 5) {
-            return new Equipment("iron sword", 2, 0, 0, 0, 25);
-
-        } else if (itemNumber == 6 || itemNumber == 7) {
-            return new Equipment("swift bow", 1, 0, 2, 2, 50);
-
-        } else if (itemNumber == 8 || itemNumber == 9) {
-            return new Equipment("dark blade", 3, 0, 2, 0, 50);
-
-        } else if (itemNumber == 10) {
-            return new Equipment("demonic dagger", 4, 0, 6, 5, 100);
-
-        } else if (itemNumber == 11) {
-            return new Equipment("holy longsword", 11, 0, 4, 0, 100);
-
-        } else {
-            return new Equipment("weapon of champions", 10, 10, 10, 10, 200);
-
-        }
-    }
-
-    // REQUIRES: itemNumber must be within [0, RANDOM_ITEM_SELECTOR]
-    // EFFECTS: produce an equipment (stylized as armour) based on the number received
-    private Equipment generateArmour(int itemNumber) {
-        if (itemNumber == 0 || itemNumber == 1 || itemNumber == 2) {
-            return new Equipment("wooden shield", 0, 2, 0, 0, 25);
-
-        } else if (itemNumber == 3 || itemNumber == 4 || itemNumber == 5) {
-            return new Equipment("leather boots", 0, 0, 0, 2, 25);
-
-        } else if (itemNumber == 6 || itemNumber == 7) {
-            return new Equipment("armour of strength", 2, 3, 0, 0, 50);
-
-        } else if (itemNumber == 8 || itemNumber == 9) {
-            return new Equipment("tunic of speed", 0, 1, 1, 3, 50);
-
-        } else if (itemNumber == 10) {
-            return new Equipment("godly armour", 2, 10, 1, 1, 100);
-
-        } else if (itemNumber == 11) {
-            return new Equipment("token of true sight", 1, 1, 12, 1, 100);
-
-        } else {
-            return new Equipment("amulet of champions", 10, 10, 10, 10, 200);
-
-        }
-    }
-
-    // REQUIRES: upperbound must be a positive integer represent the highest integer you want to possibly get
-    // EFFECTS: Generates a random integer from [0, upperbound] inclusive
-    private int generateRandomInteger(int upperbound) {
-        Random random = new Random();  // Start a random class object
-        return random.nextInt(upperbound + 1);  // Return a random int + 1 to include upperbound
-    }
-
     // EFFECTS: Generates the menu for training a character
     private JButton trainButton() {
         JButton button = createMenuButton();
@@ -592,6 +559,10 @@ public class Game extends JFrame {
     private void trainMenu() {
         clear();
         mainTextArea.append("It looks like I can spend some gold to train my stats!\nWhat should I do...?\n");
+        mainTextArea.append(describePreview("\nSmall room",
+                player.preview(c -> c.increaseStats(c.getCharacterClass()))));
+        mainTextArea.append(describePreview("Large room",
+                player.preview(c -> c.increaseStats(c.getCharacterClass(), 2))));
         menuArea.add(smallTrainingButton());  // add the two different training buttons
         menuArea.add(largeTrainingButton());
         JButton stats = statsButton();
@@ -617,7 +588,6 @@ public class Game extends JFrame {
             if (player.getGold() >= PRICE_OF_SMALL_TRAINING) {
                 player.spendGold(PRICE_OF_SMALL_TRAINING);
                 player.increaseStats(player.getClassName());  // Small training (ONLY TRAINS ONCE)
-                updateHeader();
                 mainTextArea.append("Great! I feel a bit stronger!\n");
 
             } else {
@@ -641,9 +611,7 @@ public class Game extends JFrame {
         public void actionPerformed(ActionEvent e) {
             if (player.getGold() >= PRICE_OF_LARGE_TRAINING) {
                 player.spendGold(PRICE_OF_LARGE_TRAINING);
-                player.increaseStats(player.getClassName()); // Large training (TRAINS TWICE)
-                player.increaseStats(player.getClassName());
-                updateHeader();
+                player.increaseStats(player.getClassName(), 2); // Large training (TRAINS TWICE)
                 mainTextArea.append("Amazing! I feel a lot stronger!\n");
 
             } else {
@@ -719,7 +687,6 @@ public class Game extends JFrame {
             if (player.getGold() >= PRICE_OF_SMALL_POTION) {
                 player.spendGold(PRICE_OF_SMALL_POTION);
                 player.healCharacter(HEALTH_FROM_SMALL_POTION);
-                updateHeader();
                 mainTextArea.append("Great! I feel way better!\n");
 
             } else {
@@ -744,7 +711,6 @@ public class Game extends JFrame {
             if (player.getGold() >= PRICE_OF_LARGE_POTION) {  // Can you afford the potion?
                 player.spendGold(PRICE_OF_LARGE_POTION);
                 player.healCharacter(HEALTH_FROM_LARGE_POTION);  // Heal a large amount of HP
-                updateHeader();  // Update the info in the header
                 mainTextArea.append("Amazing! I feel a lot healthier!\n");
 
             } else {
@@ -766,44 +732,24 @@ public class Game extends JFrame {
     private class FightHandler implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
-            enemy = generateEnemy(player.getLevel());
+            enemy = ArenaRoster.enemyFor(player.getLevel());
+            long seed = random.nextSeed();  // each fight rolls from its own seed, so its log can be replayed
+            combatRecorder = new CombatRecorder(seed, player, enemy);
+            combatEngine = new CombatEngine(new GameRandom(seed), combatRecorder, new CombatLog());
             printEnemy(enemy);
             menuArea.add(combatButton());
             refresh();
         }
     }
 
-    // EFFECTS: Produce an enemy corresponding to a players level
-    private Character generateEnemy(int level) {
-        // These are enemies that correspond to a player level
-        if (level == 1) {
-            return new Character("Goblin Knight", "goblin", "knight",
-                    10, 10, 10, 10, 10);
-
-        } else if (level == 2) {
-            return new Character("Huntress", "elf", "hunter",
-                    20, 8, 6, 30, 20);
-
-        } else if (level == 3) {
-            return new Character("Lich King", "lich", "wizard",
-                    15, 35, 10, 25, 10);
-
-        } else if (level == 4) {
-            return new Character("Bruntus", "cyclops", "barbarian",
-                    50, 5, 30, 40, 40);
-
-        } else {
-            return new Character("Champion of the Arena", "tiefling", "champion",
-                    80, 20, 40, 30, 10);
-        }
-    }
-
     // EFFECTS: Print out detailed information of an arena enemy.
     private void printEnemy(Character enemy) {
         clear();
         mainTextArea.append("\nYour opponent is...\n");
         mainTextArea.append(String.format(
                 "\n%s the %s %s!\n\n", enemy.getName(), enemy.getRace(), enemy.getClassName()));
+        mainTextArea.append(String.format(
+                "You have a %.0f%% chance of winning.\n\n", 100 * new FightOdds(player, enemy).getWinProbability()));
     }
 
     // EFFECTS: Creates a button used to progress through combat
@@ -815,72 +761,46 @@ public class Game extends JFrame {
     }
 
     // MODIFIES: this
-    // EFFECTS: Functionality for the combatButton
+    // EFFECTS: Functionality for the combatButton, each click fights one round
     private class CombatHandler implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
-            if (player.getSpeed() > enemy.getSpeed()) {  // The faster character goes first, else the enemy does
-                attack(player, enemy);
-                updateHeader();
-                if (enemy.isAlive()) {
-                    attack(enemy, player);  // hit back
-                    updateHeader();
-                }
-            } else {
-                attack(enemy, player);
-                updateHeader();
-                if (player.isAlive()) {
-                    attack(player, enemy);  // hit back
-                    updateHeader();
-                }
-            }
+            combatEngine.round(player, enemy);
         }
     }
 
     // MODIFIES: this
-    //           Character defender by potentially lowering their current HP
-    // EFFECTS: Allow attackers to damage a defender or miss if they have low dexterity
-    private void attack(Character attacker, Character defender) {
-        int chanceToHit = generateRandomInteger(DEXTERITY_ROLL);  // Produce a random number. If DEX > this number
-        // then the attack will hit, or else it misses.
-
-        if (attacker.getDexterity() >= chanceToHit) {  // If attacker DEX is greater than the random number, it hits
+    // EFFECTS: Describes each attack of a fight in the main text area, and ends combat once someone is slain
+    private class CombatLog implements CombatListener {
+        @Override
+        public void attackHit(Character attacker, Character defender, int damage) {
             mainTextArea.append(String.format("%s hits %s.\n", attacker.getName(), defender.getName()));
-            int damage = attacker.getStrength() - defender.getEndurance() / 2;  // Calculate damage (END mitigates some)
-
-            if (damage <= 0) {  // Always deal at least 1 damage if an attack hits
-                defender.takeDamage(1);
-            } else {
-                defender.takeDamage(damage);  // If damage is > 0, deal the full number
+            if (defender.isAlive()) {
+                mainTextArea.append(String.format("%s is still alive, with %d health remaining.\n",
+                        defender.getName(), defender.getCurrentHealth()));
             }
+        }
 
-            battleMessage(attacker.getName(), defender.getName(), defender.getCurrentHealth());  // Print results
-
-        } else {
-            mainTextArea.append(String.format(
-                    "%s missed.\n", attacker.getName()));  // Let the player know the attack missed.
+        @Override
+        public void attackMissed(Character attacker, Character defender) {
+            mainTextArea.append(String.format("%s missed.\n", attacker.getName()));
         }
-    }
 
-    // EFFECTS: Print an informative message of the results of a combat attack.
-    private void battleMessage(String attacker, String defender, int defenderHealth) {
-        if (defenderHealth <= 0) {
-            mainTextArea.append(String.format("%s has slain %s.\n", attacker, defender));
+        @Override
+        public void characterSlain(Character attacker, Character defender) {
+            mainTextArea.append(String.format("%s has slain %s.\n", attacker.getName(), defender.getName()));
             combatEnd();
-        } else {
-            mainTextArea.append(String.format(
-                    "%s is still alive, with %d health remaining.\n", defender, defenderHealth));
         }
     }
 
     // MODIFIES: this
     // EFFECTS: Determine who won at the end of combat
     public void combatEnd() {
+        recordCombat();
         if (player.isAlive()) {
             clear();
             levelUpPlayer();
             fillMenu(menuArea);
-            updateHeader();
             refresh();
         } else {
             JOptionPane.showMessageDialog(this,
@@ -891,6 +811,15 @@ public class Game extends JFrame {
         }
     }
 
+    // EFFECTS: Adds the log of the fight that just ended to the combat log file
+    private void recordCombat() {
+        try {
+            combatRecorder.appendTo(COMBAT_LOG);
+        } catch (IOException e) {
+            System.out.println("Unable to write to file: " + COMBAT_LOG);
+        }
+    }
+
     // MODIFIES: Character
     // EFFECTS: Increase a character's level by one, and increase their stats once with informative messages.
     private void levelUpPlayer() {
@@ -969,23 +898,8 @@ public class Game extends JFrame {
 
         } else {
             mainTextArea.append("\nINVENTORY:");
-            for (int i = 0; i < inventory.getInventorySize(); i++) {  // Print out each Equipment in an Inventory
-                Equipment item;
-                try {
-                    item = inventory.getEquipment(i);
-                    mainTextArea.append(String.format("\n%d. %s: "
-                                    + "\nStrength - %d   Endurance - %d   Dexterity - %d   Speed - %d   VALUE: %d\n",
-                            i + 1,
-                            item.getName().substring(0, 1).toUpperCase() + item.getName().substring(1),  // Capitalize
-                            item.getStrength(), item.getEndurance(),
-                            item.getDexterity(),
-                            item.getSpeed(),
-                            item.getWorth()));
-                    scrollDown();
-                } catch (InvalidEquipmentException e) {
-                    e.printStackTrace();
-                }
-            }
+            inventory.forEach((index, item) -> mainTextArea.append(describeEquipment(index, item)));
+            scrollDown();
         }
     }
 
@@ -1065,13 +979,40 @@ public class Game extends JFrame {
     // MODIFIES: this
     // EFFECTS: display player info in the header JPanel
     private void fillHeader() {
+        HeaderListener listener = new HeaderListener();
+        levelLabel = createHeaderLabel("");
+        healthLabel = createHeaderLabel("");
+        goldLabel = createHeaderLabel("");
+        listener.levelChanged(player, player.getLevel());
+        listener.healthChanged(player, player.getCurrentHealth(), player.getMaxHealth());
+        listener.goldChanged(player, player.getGold());
+        player.addListener(listener);  // from now on, only the label that changed gets new text
+
         header.add(createHeaderLabel(String.format("  %s", player.getName())));
         header.add(Box.createGlue());
-        header.add(createHeaderLabel(String.format("Level: %d", player.getLevel())));
+        header.add(levelLabel);
         header.add(Box.createGlue());
-        header.add(createHeaderLabel(String.format("HP: %d/%d", player.getCurrentHealth(), player.getMaxHealth())));
+        header.add(healthLabel);
         header.add(Box.createGlue());
-        header.add(createHeaderLabel(String.format("Gold: %d   ", player.getGold())));
+        header.add(goldLabel);
+    }
+
+    // Updates the text of the header label of whatever changed about the player
+    private class HeaderListener implements CharacterListener {
+        @Override
+        public void healthChanged(Character character, int currentHP, int maxHP) {
+            healthLabel.setText(String.format("HP: %d/%d", currentHP, maxHP));
+        }
+
+        @Override
+        public void goldChanged(Character character, int gold) {
+            goldLabel.setText(String.format("Gold: %d   ", gold));
+        }
+
+        @Override
+        public void levelChanged(Character character, int level) {
+            levelLabel.setText(String.format("Level: %d", level));
+        }
     }
 
     // EFFECTS: Produce a JLabel with certain text displayed
@@ -1140,13 +1081,6 @@ public class Game extends JFrame {
         repaint();
     }
 
-    // MODIFIES: this
-    // EFFECTS: update the header JPanel with new player information
-    private void updateHeader() {
-        header.removeAll();
-        fillHeader();
-        refresh();
-    }
 
 //    public static void main(String[] args) {
 //        try {
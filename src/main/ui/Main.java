@@ -1,17 +1,26 @@
 package ui;
 
+import model.GameRandom;
+
 import java.io.FileNotFoundException;
 
 /**
- * Class used for starting up a new game. Run this file to begin the game.
+ * Class used for starting up a new game. Run this file to begin the game. Passing a number as the first argument
+ * seeds every roll of the game with it, so the same seed plays out the same way.
  */
 
 public class Main {
     public static void main(String[] args) {
         try {
-            new Game();
+            if (args.length > 0) {
+                new Game(new GameRandom(Long.parseLong(args[0])));
+            } else {
+                new Game();
+            }
         } catch (FileNotFoundException e) {
             System.out.println("Unable to run application: The application is missing the save file.");
+        } catch (NumberFormatException e) {
+            System.out.println("Unable to run application: The seed must be a whole number.");
         }
     }
 }
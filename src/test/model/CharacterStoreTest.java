@@ -0,0 +1,151 @@
+package model;
+
+import exceptions.InvalidEquipmentException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+import player.Character;
+import player.CharacterClass;
+import player.CharacterStore;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CharacterStoreTest {
+    private CharacterStore store;
+    private Character testRogue;
+
+    @BeforeEach
+    void runBefore() {
+        store = new CharacterStore();
+        testRogue = new Character("test rogue", "elf", "rogue", 10, 11, 12, 13, 14);
+        testRogue.equipItem(EquipmentCatalog.rollWeapon(0));
+        testRogue.equipItem(EquipmentCatalog.rollArmour(EquipmentCatalog.MAX_ROLL));
+    }
+
+    @Test
+    void testAddAndView() {
+        assertEquals(0, store.add(testRogue));
+        assertEquals(1, store.size());
+        CharacterStore.View view = store.view(0);
+        assertEquals("test rogue", view.getName());
+        assertEquals("elf", view.getRace());
+        assertEquals(CharacterClass.ROGUE, view.getCharacterClass());
+        assertEquals(Character.STARTING_LEVEL, view.getLevel());
+        assertEquals(10, view.getMaxHealth());
+        assertEquals(testRogue.getStrength(), view.getStrength());
+        assertEquals(testRogue.getEndurance(), view.getEndurance());
+        assertEquals(testRogue.getDexterity(), view.getDexterity());
+        assertEquals(testRogue.getSpeed(), view.getSpeed());
+        assertEquals(Character.STARTING_GOLD, view.getGold());
+        assertEquals(2, view.getInventorySize());
+        try {
+            assertSame(EquipmentCatalog.rollWeapon(0), view.getEquipment(0));
+            view.getEquipment(2);
+            fail("Uncaught InvalidEquipmentException");
+        } catch (InvalidEquipmentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testViewMatchesCharacter() {
+        store.add(testRogue);
+        CharacterStore.View view = store.view(0);
+        view.takeDamage(4);
+        testRogue.takeDamage(4);
+        view.healCharacter(1);
+        testRogue.healCharacter(1);
+        view.levelUp();
+        testRogue.levelUp();
+        view.increaseStats();
+        testRogue.increaseStats(testRogue.getCharacterClass());
+        view.spendGold(30);
+        testRogue.spendGold(30);
+        view.equipItem(EquipmentCatalog.rollWeapon(5));
+        testRogue.equipItem(EquipmentCatalog.rollWeapon(5));
+        assertTrue(view.isAlive());
+        assertTrue(testRogue.toJson().similar(view.toJson()));
+        assertTrue(testRogue.toJson().similar(store.toCharacter(0).toJson()));
+    }
+
+    @Test
+    void testManyRecordsAndGrowingSlices() {
+        for (int i = 0; i < 1000; i++) {
+            store.add(new Character("goblin " + (i % 10), "goblin", "knight", 10, 10, 10, 10, 10));
+        }
+        CharacterStore.View view = store.view(0);
+        for (int round = 0; round < 20; round++) {  // every slice outgrows its room and moves several times
+            for (int i = 0; i < store.size(); i++) {
+                view.moveTo(i).equipItem(EquipmentCatalog.rollWeapon(i % 3));
+            }
+        }
+        for (int i = 0; i < store.size(); i++) {
+            view.moveTo(i);
+            assertEquals("goblin " + (i % 10), view.getName());
+            assertEquals(20, view.getInventorySize());
+            assertEquals(10 + 20 * EquipmentCatalog.rollWeapon(i % 3).getStrength(), view.getStrength());
+            try {
+                assertSame(EquipmentCatalog.rollWeapon(i % 3), view.getEquipment(19));
+            } catch (InvalidEquipmentException e) {
+                fail("Unexpected InvalidEquipmentException");
+            }
+        }
+    }
+
+    @Test
+    void testJsonRoundTrip() {
+        try {
+            Character loaded = new JsonReader("./data/testReaderCharacterWithInventory.json").read();
+            int index = store.add(loaded);
+            assertTrue(loaded.toJson().similar(store.view(index).toJson()));
+
+            JsonWriter writer = new JsonWriter("./data/testWriterCharacterStore.json");
+            writer.open();
+            writer.write(store.view(index));
+            writer.close();
+            Character reloaded = new JsonReader("./data/testWriterCharacterStore.json").read();
+            assertTrue(loaded.toJson().similar(reloaded.toJson()));
+        } catch (IOException e) {
+            fail("Unexpected IOException");
+        }
+    }
+
+    @Test
+    void testCustomItemsKeptByStore() {
+        Equipment custom = new Equipment("store test item", 1, 2, 3, 4, 5);
+        testRogue.equipItem(custom);
+        store.add(testRogue);
+        store.add(testRogue);
+        try {
+            assertSame(custom, store.view(0).getEquipment(2));
+            assertSame(custom, store.view(1).getEquipment(2));
+            assertSame(EquipmentCatalog.rollWeapon(0), store.view(1).getEquipment(0));
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException");
+        }
+        assertEquals(testRogue.getSpeed(), store.view(1).getSpeed());
+        assertEquals(14, EquipmentCatalog.size());
+    }
+
+    @Test
+    void testEqualCustomItemsStoredOnce() {
+        try {
+            JsonReader reader = new JsonReader("./data/testReaderCharacterWithInventory.json");
+            Character first = reader.read();
+            Character second = reader.read();
+            assertNotSame(first.getInventory().getEquipment(0), second.getInventory().getEquipment(0));
+            store.add(first);
+            store.add(second);
+            assertSame(store.view(0).getEquipment(0), store.view(1).getEquipment(0));
+            assertSame(store.view(0).getEquipment(1), store.view(1).getEquipment(1));
+            assertEquals("wand", store.view(1).getEquipment(1).getName());
+        } catch (IOException e) {
+            fail("Unexpected IOException");
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException");
+        }
+    }
+}
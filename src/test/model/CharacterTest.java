@@ -1,10 +1,22 @@
 package model;
 
+import com.sun.management.ThreadMXBean;
+import exceptions.InvalidEquipmentException;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import player.Buff;
 import player.Character;
+import player.CharacterClass;
+import player.CharacterListener;
+import player.Race;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -256,6 +268,84 @@ public class CharacterTest {
         assertEquals(14 + Character.UNFAVOURABLE_STAT_INCREASE, testMerchant.getSpeed());
     }
 
+    @Test
+    void testBatchLevelUpMatchesSingleCalls() {
+        for (int n : new int[]{0, 1, 7, 50}) {
+            for (String className : new String[]{"warrior", "rogue", "merchant"}) {
+                Character single = new Character("single", "human", className, 10, 11, 12, 13, 14);
+                Character batch = new Character("batch", "human", className, 10, 11, 12, 13, 14);
+                for (int i = 0; i < n; i++) {
+                    single.levelUp();
+                    single.increaseStats(className);
+                }
+                batch.levelUp(n);
+                batch.increaseStats(className, n);
+                assertEquals(single.getLevel(), batch.getLevel());
+                assertEquals(single.getGold(), batch.getGold());
+                assertEquals(single.getMaxHealth(), batch.getMaxHealth());
+                assertEquals(single.getCurrentHealth(), batch.getCurrentHealth());
+                assertEquals(single.getBaseStats(), batch.getBaseStats());
+            }
+        }
+    }
+
+    @Test
+    void testBatchLevelUpOverflowChangesNothing() {
+        try {
+            testWarrior.increaseStats(CharacterClass.WARRIOR, Integer.MAX_VALUE);
+            fail("Uncaught ArithmeticException");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+        try {
+            testMerchant.levelUp(Integer.MAX_VALUE);
+            fail("Uncaught ArithmeticException");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+        assertEquals(10, testWarrior.getMaxHealth());
+        assertEquals(11, testWarrior.getStrength());
+        assertEquals(Character.STARTING_LEVEL, testMerchant.getLevel());
+        assertEquals(Character.STARTING_GOLD * 2, testMerchant.getGold());
+    }
+
+    @Test
+    void testClassAndRaceLookup() {
+        assertEquals(CharacterClass.WARRIOR, testWarrior.getCharacterClass());
+        assertEquals(Race.HUMAN, testWarrior.getCharacterRace());
+        assertEquals("human", testWarrior.getRace());
+        assertEquals(CharacterClass.MERCHANT, CharacterClass.fromName("merchant"));
+        assertEquals(Race.UNKNOWN, Race.fromName("???"));
+
+        Character enemy = new Character("Bruntus", "cyclops", "barbarian", 50, 5, 30, 40, 40);
+        assertEquals(Character.STARTING_GOLD, enemy.getGold());
+        enemy.increaseStats(enemy.getCharacterClass());
+        assertEquals(50 + Character.MERCHANT_HEALTH_INCREASE, enemy.getMaxHealth());
+    }
+
+    @Test
+    void testUnknownClassOrRace() {
+        try {
+            new Character("test", "human", "bard", 10, 10, 10, 10, 10);
+            fail("Uncaught IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new Character("test", "orc", "warrior", 10, 10, 10, 10, 10);
+            fail("Uncaught IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            testMerchant.increaseStats("Merchant");
+            fail("Uncaught IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(10, testMerchant.getMaxHealth());
+    }
+
     @Test
     void testToJson() {
         JSONObject json = testWarrior.toJson();
@@ -277,4 +367,248 @@ public class CharacterTest {
         assertEquals(test.toString(), json.toString());
     }
 
+
+    @Test
+    void testModifierLayers() {
+        testWarrior.equipItem(new Equipment("sword", 4, 0, 0, 0, 25));
+        assertEquals(15, testWarrior.getStrength());
+
+        testWarrior.addBuff(new Buff("potion", StatBlock.of(5, 0, 0, 0), 2));
+        testWarrior.addBuff(new Buff("curse", StatBlock.of(0, -2, 0, 0), 1));
+        assertEquals(20, testWarrior.getStrength());
+        assertEquals(10, testWarrior.getEndurance());
+        assertEquals(2, testWarrior.getBuffs().size());
+
+        testWarrior.setMultipliers(StatBlock.of(150, 100, 100, 50));
+        assertEquals(30, testWarrior.getStrength());
+        assertEquals(10, testWarrior.getEndurance());
+        assertEquals(7, testWarrior.getSpeed());  // half of 14, rounded down
+
+        assertEquals(1, testWarrior.tickBuffs());  // the curse runs out
+        assertEquals(12, testWarrior.getEndurance());
+        assertEquals(1, testWarrior.tickBuffs());  // then the potion
+        assertEquals(0, testWarrior.getBuffs().size());
+        assertEquals(22, testWarrior.getStrength());  // 150% of 11 + 4
+
+        try {
+            testWarrior.getInventory().removeEquipment(0);  // the memoized stats notice the inventory changed
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException");
+        }
+        assertEquals(16, testWarrior.getStrength());
+        testWarrior.increaseStats(testWarrior.getCharacterClass());
+        assertEquals(21, testWarrior.getStrength());  // 150% of 14
+        testWarrior.setMultipliers(Character.NO_MULTIPLIERS);
+        assertEquals(new StatTotals(14, 15, 14, 15), testWarrior.getEffectiveStats());
+    }
+
+    @Test
+    void testSnapshotAndPreview() {
+        testWarrior.equipItem(new Equipment("sword", 4, 0, 0, 0, 25));
+        testWarrior.addBuff(new Buff("potion", StatBlock.of(2, 0, 0, 0), 1));
+        List<String> events = new ArrayList<>();
+        testWarrior.addListener(new CharacterListener() {
+            @Override
+            public void goldChanged(Character character, int gold) {
+                events.add("gold " + gold);
+            }
+        });
+
+        Equipment shield = new Equipment("shield", 0, 5, 0, 0, 25);
+        Character bought = testWarrior.preview(c -> {
+            c.spendGold(shield.getWorth());
+            c.equipItem(shield);
+        });
+        assertEquals(17, bought.getEndurance());
+        assertEquals(Character.STARTING_GOLD - 25, bought.getGold());
+        assertEquals(2, bought.getInventory().getInventorySize());
+        assertEquals(12, testWarrior.getEndurance());
+        assertEquals(Character.STARTING_GOLD, testWarrior.getGold());
+        assertEquals(1, testWarrior.getInventory().getInventorySize());
+        assertTrue(events.isEmpty());  // the preview does not tell the real player's listeners
+
+        Character trained = testWarrior.preview(c -> c.increaseStats(c.getCharacterClass(), 2));
+        assertEquals(10 + 2 * Character.WARRIOR_HEALTH_INCREASE, trained.getMaxHealth());
+        assertEquals(17 + 2 * Character.FAVOURABLE_STAT_INCREASE, trained.getStrength());
+        assertEquals(17, testWarrior.getStrength());
+
+        Character snapshot = testWarrior.snapshot();
+        snapshot.tickBuffs();
+        assertEquals(15, snapshot.getStrength());
+        assertEquals(17, testWarrior.getStrength());  // the original keeps its own buff
+        assertTrue(testWarrior.toJson().similar(testWarrior.snapshot().toJson()));
+    }
+
+    @Test
+    void testListenersAreTold() {
+        List<String> events = new ArrayList<>();
+        CharacterListener listener = new CharacterListener() {
+            @Override
+            public void healthChanged(Character character, int currentHP, int maxHP) {
+                events.add("hp " + currentHP + "/" + maxHP);
+            }
+
+            @Override
+            public void goldChanged(Character character, int gold) {
+                events.add("gold " + gold);
+            }
+
+            @Override
+            public void levelChanged(Character character, int level) {
+                events.add("level " + level);
+            }
+
+            @Override
+            public void itemEquipped(Character character, Equipment item) {
+                events.add("equipped " + item.getName());
+            }
+        };
+        testWarrior.addListener(listener);
+        testWarrior.takeDamage(3);
+        testWarrior.spendGold(10);
+        testWarrior.levelUp();
+        testWarrior.equipItem(new Equipment("sword", 3, 0, 0, 0, 25));
+        testWarrior.increaseStats(testWarrior.getCharacterClass());
+        testWarrior.removeListener(listener);
+        testWarrior.healCharacter(3);
+
+        assertEquals(Arrays.asList("hp 7/10", "gold 40", "gold 90", "level 2", "equipped sword",
+                "hp 7/" + (10 + Character.WARRIOR_HEALTH_INCREASE)), events);
+    }
+
+    @Test
+    void testConcurrentDamageAndHealingLoseNothing() throws InterruptedException {
+        Character target = new Character("target", "human", "warrior", 10000000, 10, 10, 10, 10);
+        target.setConcurrent(true);
+        assertTrue(target.isConcurrent());
+        target.takeDamage(5000000);
+        runThreads(8, thread -> {
+            for (int i = 0; i < 100000; i++) {
+                if (thread % 2 == 0) {
+                    target.takeDamage(1);
+                } else {
+                    target.healCharacter(1);
+                }
+            }
+        });
+        assertEquals(5000000, target.getCurrentHealth());  // as many hits as heals, and no heal reached the max
+
+        boolean[] overhealed = new boolean[8];
+        runThreads(8, thread -> {
+            for (int i = 0; i < 1000000; i++) {
+                target.healCharacter(1);
+                overhealed[thread] |= target.getCurrentHealth() > target.getMaxHealth();
+            }
+        });
+        assertEquals(target.getMaxHealth(), target.getCurrentHealth());
+        assertArrayEquals(new boolean[8], overhealed);
+    }
+
+    @Test
+    void testConcurrentGoldSpendingLosesNothing() throws InterruptedException {
+        Character target = new Character("target", "human", "warrior", 10, 10, 10, 10, 10);
+        target.setConcurrent(true);
+        target.levelUp(9999);  // 500000 gold in total
+        target.checkpoint();
+        runThreads(4, thread -> {
+            for (int i = 0; i < 50000; i++) {
+                target.spendGold(1);
+            }
+        });
+        assertEquals(300000, target.getGold());
+        assertEquals(Character.GOLD_CHANGED, target.getChangedFields());
+
+        int[] spent = new int[8];
+        runThreads(8, thread -> {
+            for (int i = 0; i < 100000; i++) {
+                if (target.trySpendGold(1)) {
+                    spent[thread]++;
+                }
+            }
+        });
+        assertEquals(0, target.getGold());
+        assertEquals(300000, Arrays.stream(spent).sum());  // exactly the gold there was, never more
+        assertFalse(target.trySpendGold(1));
+    }
+
+    @Test
+    void testConcurrentLevelUpWhileSpendingLosesNothing() throws InterruptedException {
+        Character target = new Character("target", "human", "warrior", 10, 10, 10, 10, 10);
+        target.setConcurrent(true);
+        target.levelUp(99999);  // 5000000 gold in total
+        runThreads(4, thread -> {
+            for (int i = 0; i < 100000; i++) {
+                if (thread > 0) {
+                    target.spendGold(1);
+                } else if (i % 2 == 0) {  // only one thread may change the level
+                    target.levelUp();
+                } else {
+                    target.levelUp(2);
+                }
+            }
+        });
+        assertEquals(Character.STARTING_LEVEL + 99999 + 150000, target.getLevel());
+        assertEquals(5000000 + 150000 * 50 - 300000, target.getGold());
+    }
+
+    // EFFECTS: runs work on count threads at once (passing each its number) and waits for all of them to finish
+    private void runThreads(int count, IntConsumer work) throws InterruptedException {
+        Thread[] threads = new Thread[count];
+        for (int i = 0; i < count; i++) {
+            int number = i;
+            threads[i] = new Thread(() -> work.accept(number));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    @Test
+    void testFightDoesNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return;  // this JVM cannot measure allocation
+        }
+        testWarrior.equipItem(new Equipment("sword", 3, 0, 0, 0, 25));
+        long threadId = Thread.currentThread().getId();
+        int rounds = 0;
+        for (int i = 0; i < 20000; i++) {  // warm up so the fight is compiled
+            rounds += fight(testWarrior, testRogue, i);
+        }
+        long overhead = threads.getThreadAllocatedBytes(threadId);
+        overhead = threads.getThreadAllocatedBytes(threadId) - overhead;  // what measuring itself allocates
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1000; i++) {
+            rounds += fight(testWarrior, testRogue, i);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+        assertTrue(rounds > 0);
+        assertEquals(0, allocated);
+    }
+
+    // MODIFIES: first, second
+    // EFFECTS: heals both characters, then has them attack each other (hitting on a deterministic roll made from
+    //          seed) until one dies, and produces the number of rounds fought
+    private int fight(Character first, Character second, int seed) {
+        first.healCharacter(first.getMaxHealth());
+        second.healCharacter(second.getMaxHealth());
+        int rounds = 0;
+        while (first.isAlive() && second.isAlive()) {
+            rounds++;
+            strike(first, second, (seed + rounds) % 61);
+            if (second.isAlive()) {
+                strike(second, first, (seed * 7 + rounds) % 61);
+            }
+        }
+        return rounds;
+    }
+
+    // MODIFIES: defender
+    // EFFECTS: the attacker hits the defender if its dexterity is at least roll, like an attack in the game
+    private void strike(Character attacker, Character defender, int roll) {
+        if (attacker.getDexterity() >= roll) {
+            defender.takeDamage(Math.max(1, attacker.getStrength() - defender.getEndurance() / 2));
+        }
+    }
 }
@@ -0,0 +1,197 @@
+package model;
+
+import exceptions.InvalidEquipmentException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarInventoryTest {
+    private static final int MANY_ITEMS = 3000;  // enough items to span several chunks
+
+    ColumnarInventory testInventory;
+    Equipment testEquipment;
+
+    @BeforeEach
+    void runBefore() {
+        testInventory = new ColumnarInventory();
+        testEquipment = new Equipment("testName", 8, 7, 6, 5, 400);
+    }
+
+    @Test
+    void testEmptyInventory() {
+        assertEquals(0, testInventory.getInventorySize());
+        assertEquals(0, testInventory.getTotalStrength());
+        try {
+            testInventory.getEquipment(0);
+            fail("Uncaught InvalidEquipmentException");
+        } catch (InvalidEquipmentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testAddAndGetEquipment() {
+        testInventory.addEquipment(testEquipment);
+        assertEquals(1, testInventory.getInventorySize());
+        try {
+            Equipment item = testInventory.getEquipment(0);
+            assertEquals("testName", item.getName());
+            assertEquals(8, item.getStrength());
+            assertEquals(7, item.getEndurance());
+            assertEquals(6, item.getDexterity());
+            assertEquals(5, item.getSpeed());
+            assertEquals(400, item.getWorth());
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException.");
+        }
+    }
+
+    @Test
+    void testManyItemsAcrossChunks() {
+        testInventory.setConsistencyChecking(true);
+        for (int i = 0; i < MANY_ITEMS; i++) {
+            testInventory.addEquipment(new Equipment("item" + (i % 10), i % 3, i % 5, i % 7, i % 11, i));
+        }
+        assertEquals(MANY_ITEMS, testInventory.getInventorySize());
+        try {
+            assertEquals(1500, testInventory.getEquipment(1500).getWorth());
+            assertEquals("item9", testInventory.getEquipment(MANY_ITEMS - 1).getName());
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException.");
+        }
+    }
+
+    @Test
+    void testRemoveShiftsItemsAcrossChunks() {
+        Inventory expected = new Inventory();
+        for (int i = 0; i < MANY_ITEMS; i++) {
+            Equipment item = new Equipment("item" + i, i % 3, i % 5, i % 7, i % 11, i);
+            testInventory.addEquipment(item);
+            expected.addEquipment(item);
+        }
+        try {
+            int[] removals = {0, 1023, 1023, 2040, 5, MANY_ITEMS - 6};
+            for (int index : removals) {
+                testInventory.removeEquipment(index);
+                expected.removeEquipment(index);
+            }
+            assertEquals(expected.getInventorySize(), testInventory.getInventorySize());
+            for (int i = 0; i < expected.getInventorySize(); i++) {
+                assertEquals(expected.getEquipment(i).getName(), testInventory.getEquipment(i).getName());
+                assertEquals(expected.getEquipment(i).getWorth(), testInventory.getEquipment(i).getWorth());
+            }
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException.");
+        }
+        assertEquals(expected.getTotalStrength(), testInventory.getTotalStrength());
+        assertEquals(expected.getTotalEndurance(), testInventory.getTotalEndurance());
+        assertEquals(expected.getTotalDexterity(), testInventory.getTotalDexterity());
+        assertEquals(expected.getTotalSpeed(), testInventory.getTotalSpeed());
+        assertTrue(testInventory.totalsAreConsistent());
+    }
+
+    @Test
+    void testRemoveEquipmentOutOfBounds() {
+        testInventory.addEquipment(testEquipment);
+        try {
+            testInventory.removeEquipment(1);
+            fail("Uncaught InvalidEquipmentException");
+        } catch (InvalidEquipmentException e) {
+            // expected
+        }
+        assertEquals(1, testInventory.getInventorySize());
+    }
+
+    @Test
+    void testBulkRemoveMatchesInventory() {
+        Inventory expected = new Inventory();
+        for (int i = 0; i < MANY_ITEMS; i++) {
+            Equipment item = EquipmentCatalog.rollWeapon(i % (EquipmentCatalog.MAX_ROLL + 1));
+            testInventory.addEquipment(item);
+            expected.addEquipment(item);
+        }
+        testInventory.setConsistencyChecking(true);
+        try {
+            int[] indices = {0, 1, 1024, 2047, 2048, MANY_ITEMS - 1};
+            testInventory.removeAll(indices);
+            expected.removeAll(indices);
+            assertEquals(expected.removeIf(item -> item.getWorth() > 50),
+                    testInventory.removeIf(item -> item.getWorth() > 50));
+            assertEquals(expected.getInventorySize(), testInventory.getInventorySize());
+            for (int i = 0; i < expected.getInventorySize(); i++) {
+                assertSame(expected.getEquipment(i), testInventory.getEquipment(i));
+            }
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException.");
+        }
+        assertEquals(expected.getTotalStrength(), testInventory.getTotalStrength());
+        assertEquals(expected.getTotalSpeed(), testInventory.getTotalSpeed());
+    }
+
+    @Test
+    void testForEachStatsAcrossChunks() {
+        for (int i = 0; i < MANY_ITEMS; i++) {
+            testInventory.addEquipment(new Equipment("item", i % 7, 1, 0, 2, i));
+        }
+        long[] sums = new long[3];
+        testInventory.forEachStats((index, strength, endurance, dexterity, speed, worth) -> {
+            assertEquals(index, worth);
+            sums[0] += strength;
+            sums[1] += speed;
+            sums[2]++;
+        });
+        assertEquals(testInventory.getTotalStrength(), sums[0]);
+        assertEquals(testInventory.getTotalSpeed(), sums[1]);
+        assertEquals(MANY_ITEMS, sums[2]);
+
+        int[] visited = new int[1];
+        testInventory.forEach((index, item) -> {
+            assertEquals(index, item.getWorth());
+            visited[0]++;
+        });
+        assertEquals(MANY_ITEMS, visited[0]);
+    }
+
+    @Test
+    void testSnapshotIsCopyOnWrite() {
+        for (int i = 0; i < MANY_ITEMS; i++) {
+            testInventory.addEquipment(new Equipment("item", 1, 0, 0, 0, i));
+        }
+        ColumnarInventory snapshot = testInventory.snapshot();
+        assertEquals(1, snapshot.removeIf(item -> item.getWorth() == 5));
+        testInventory.addEquipment(testEquipment);
+
+        assertEquals(MANY_ITEMS - 1, snapshot.getInventorySize());
+        assertEquals(MANY_ITEMS - 1, snapshot.getTotalStrength());
+        assertEquals(MANY_ITEMS + 1, testInventory.getInventorySize());
+        assertEquals(MANY_ITEMS + 8, testInventory.getTotalStrength());
+        try {
+            assertEquals(6, snapshot.getEquipment(5).getWorth());
+            assertEquals(5, testInventory.getEquipment(5).getWorth());
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException");
+        }
+    }
+
+    @Test
+    void testCustomItemsKeptByInventory() {
+        for (int i = 0; i < MANY_ITEMS; i++) {
+            testInventory.addEquipment(i % 2 == 0 ? EquipmentCatalog.rollArmour(0) : testEquipment);
+        }
+        ColumnarInventory snapshot = testInventory.snapshot();
+        assertEquals(MANY_ITEMS / 2, testInventory.removeIf(item -> item == testEquipment));
+        try {
+            testInventory.removeEquipment(0);
+            assertSame(testEquipment, snapshot.getEquipment(MANY_ITEMS - 1));
+            assertSame(EquipmentCatalog.rollArmour(0), snapshot.getEquipment(MANY_ITEMS - 2));
+            snapshot.removeEquipment(0);
+            assertSame(testEquipment, snapshot.getEquipment(0));
+            assertSame(EquipmentCatalog.rollArmour(0), testInventory.getEquipment(0));
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException");
+        }
+        assertEquals(MANY_ITEMS / 2 - 1, testInventory.getInventorySize());
+        assertEquals(14, EquipmentCatalog.size());
+    }
+}
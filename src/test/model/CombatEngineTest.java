@@ -0,0 +1,139 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import player.Character;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CombatEngineTest {
+    private Character fast;
+    private Character slow;
+    private List<String> events;
+    private CombatListener recorder;
+
+    @BeforeEach
+    void runBefore() {
+        fast = new Character("fast", "elf", "rogue", 20, 10, 4, 30, 20);
+        slow = new Character("slow", "dwarf", "warrior", 20, 6, 10, 0, 5);
+        events = new ArrayList<>();
+        recorder = new CombatListener() {
+            @Override
+            public void attackStarted(Character attacker, Character defender) {
+                events.add("start " + attacker.getName());
+            }
+
+            @Override
+            public void attackHit(Character attacker, Character defender, int damage) {
+                events.add(attacker.getName() + " hit " + damage);
+            }
+
+            @Override
+            public void attackMissed(Character attacker, Character defender) {
+                events.add(attacker.getName() + " missed");
+            }
+
+            @Override
+            public void characterSlain(Character attacker, Character defender) {
+                events.add(attacker.getName() + " slew " + defender.getName());
+            }
+        };
+    }
+
+    @Test
+    void testDamage() {
+        assertEquals(10 - 10 / 2, CombatEngine.damage(fast, slow));
+        assertEquals(6 - 4 / 2, CombatEngine.damage(slow, fast));
+        Character tank = new Character("tank", "dwarf", "knight", 20, 1, 50, 0, 1);
+        assertEquals(1, CombatEngine.damage(fast, tank));
+    }
+
+    @Test
+    void testAttackHitsWhenRollIsAtMostDexterity() {
+        CombatEngine engine = new CombatEngine(new FixedRandom(30, 31), recorder);
+
+        assertTrue(engine.attack(fast, slow));
+        assertEquals(15, slow.getCurrentHealth());
+        assertFalse(engine.attack(fast, slow));
+        assertEquals(15, slow.getCurrentHealth());
+    }
+
+    @Test
+    void testRoundFasterGoesFirst() {
+        CombatEngine engine = new CombatEngine(new FixedRandom(0), recorder);
+
+        assertNull(engine.round(slow, fast));
+        assertEquals(4, events.size());
+        assertEquals("start fast", events.get(0));
+        assertEquals("fast hit 5", events.get(1));
+        assertEquals("start slow", events.get(2));
+        assertEquals("slow hit 4", events.get(3));
+        assertEquals(15, slow.getCurrentHealth());
+        assertEquals(16, fast.getCurrentHealth());
+    }
+
+    @Test
+    void testRoundTieGoesToSecond() {
+        Character twin = new Character("twin", "elf", "rogue", 20, 10, 4, 30, 20);
+        CombatEngine engine = new CombatEngine(new FixedRandom(0), recorder);
+
+        engine.round(fast, twin);
+        assertEquals("start twin", events.get(0));
+    }
+
+    @Test
+    void testFightUntilSlain() {
+        CombatEngine engine = new CombatEngine(new FixedRandom(0), recorder);
+
+        assertEquals(fast, engine.fight(slow, fast));
+        assertFalse(slow.isAlive());
+        assertTrue(fast.isAlive());
+        assertEquals("fast slew slow", events.get(events.size() - 1));
+        assertEquals("fast hit 5", events.get(events.size() - 2));
+        assertEquals(4 * 3 + 3, events.size());
+    }
+
+    @Test
+    void testSlowerCanWin() {
+        Character brute = new Character("brute", "dwarf", "warrior", 50, 30, 10, 60, 1);
+        CombatEngine engine = new CombatEngine(new FixedRandom(0));
+
+        assertEquals(brute, engine.fight(fast, brute));
+        assertFalse(fast.isAlive());
+    }
+
+    @Test
+    void testSeededFightsRepeat() {
+        Character fastCopy = new Character("fast", "elf", "rogue", 20, 10, 4, 30, 20);
+        Character slowCopy = new Character("slow", "dwarf", "warrior", 20, 6, 10, 40, 5);
+        slow = new Character("slow", "dwarf", "warrior", 20, 6, 10, 40, 5);
+        new CombatEngine(new GameRandom(7), recorder).fight(fast, slow);
+        List<String> first = new ArrayList<>(events);
+        events.clear();
+        new CombatEngine(new GameRandom(7), recorder).fight(fastCopy, slowCopy);
+
+        assertEquals(first, events);
+        assertEquals(fast.getCurrentHealth(), fastCopy.getCurrentHealth());
+        assertEquals(slow.getCurrentHealth(), slowCopy.getCurrentHealth());
+    }
+
+    // GameRandom that produces the given rolls in order, then keeps repeating the last one
+    private static class FixedRandom extends GameRandom {
+        private final int[] rolls;
+        private int next;
+
+        FixedRandom(int... rolls) {
+            this.rolls = rolls;
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            int roll = rolls[Math.min(next, rolls.length - 1)];
+            next++;
+            return roll;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package model;
+
+import exceptions.InvalidEquipmentException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentInventoryTest {
+    private static final int THREADS = 8;
+    private static final int ITEMS_PER_THREAD = 2000;
+
+    ConcurrentInventory testInventory;
+    Equipment testEquipment;
+
+    @BeforeEach
+    void runBefore() {
+        testInventory = new ConcurrentInventory();
+        testEquipment = new Equipment("testName", 8, 7, 6, 5, 400);
+    }
+
+    @Test
+    void testAddAndRemove() {
+        testInventory.addEquipment(testEquipment);
+        testInventory.addEquipment(new Equipment("other", 1, 1, 1, 1, 1));
+        assertEquals(2, testInventory.getInventorySize());
+        assertEquals(9, testInventory.getTotalStrength());
+        try {
+            assertSame(testEquipment, testInventory.getEquipment(0));
+            testInventory.removeEquipment(1);
+            assertEquals(1, testInventory.getInventorySize());
+            assertEquals(7, testInventory.getTotalEndurance());
+            testInventory.removeEquipment(1);
+            fail("Uncaught InvalidEquipmentException");
+        } catch (InvalidEquipmentException e) {
+            // expected
+        }
+        assertTrue(testInventory.removeEquipment(testEquipment));
+        assertFalse(testInventory.removeEquipment(testEquipment));
+        assertEquals(0, testInventory.getTotalDexterity());
+        assertEquals(0, testInventory.getTotalSpeed());
+    }
+
+    @Test
+    void testSnapshotDoesNotChange() {
+        testInventory.addEquipment(testEquipment);
+        ConcurrentInventory.Snapshot snapshot = testInventory.snapshot();
+        testInventory.addEquipment(testEquipment);
+        assertEquals(1, snapshot.getInventorySize());
+        assertEquals(8, snapshot.getTotalStrength());
+        assertEquals(2, testInventory.getInventorySize());
+    }
+
+    @Test
+    void testStressTotalsStayExact() throws InterruptedException {
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> error = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            writers.add(new Thread(() -> addThenRemoveHalf(start)));
+        }
+        Thread reader = new Thread(() -> checkSnapshots(writing, error));
+        reader.start();
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        writing.set(false);
+        reader.join();
+
+        assertNull(error.get());
+        int kept = THREADS * ITEMS_PER_THREAD / 2;
+        assertEquals(kept, testInventory.getInventorySize());
+        assertEquals(kept * 1, testInventory.getTotalStrength());
+        assertEquals(kept * 2, testInventory.getTotalEndurance());
+        assertEquals(kept * 3, testInventory.getTotalDexterity());
+        assertEquals(kept * 4, testInventory.getTotalSpeed());
+    }
+
+    // EFFECTS: adds ITEMS_PER_THREAD new items, then removes every second one of them
+    private void addThenRemoveHalf(CountDownLatch start) {
+        List<Equipment> added = new ArrayList<>();
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            return;
+        }
+        for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+            Equipment item = new Equipment("stress", 1, 2, 3, 4, i);
+            added.add(item);
+            testInventory.addEquipment(item);
+        }
+        for (int i = 0; i < ITEMS_PER_THREAD; i += 2) {
+            assertTrue(testInventory.removeEquipment(added.get(i)));
+        }
+    }
+
+    // EFFECTS: keeps checking that every snapshot's totals match the items in it until writing stops
+    private void checkSnapshots(AtomicBoolean writing, AtomicReference<String> error) {
+        while (writing.get()) {
+            ConcurrentInventory.Snapshot snapshot = testInventory.snapshot();
+            int[] strength = new int[1];
+            snapshot.forEach(item -> strength[0] += item.getStrength());
+            if (strength[0] != snapshot.getTotalStrength()
+                    || snapshot.getTotalSpeed() != 4 * snapshot.getInventorySize()) {
+                error.set("Snapshot totals do not match its items.");
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EquipmentCatalogTest {
+
+    @Test
+    void testRollsShareEntries() {
+        assertSame(EquipmentCatalog.rollWeapon(0), EquipmentCatalog.rollWeapon(2));
+        assertEquals("iron dagger", EquipmentCatalog.rollWeapon(0).getName());
+        assertEquals("weapon of champions", EquipmentCatalog.rollWeapon(EquipmentCatalog.MAX_ROLL).getName());
+        assertEquals("wooden shield", EquipmentCatalog.rollArmour(0).getName());
+        assertEquals("amulet of champions", EquipmentCatalog.rollArmour(EquipmentCatalog.MAX_ROLL).getName());
+        assertEquals(14, EquipmentCatalog.size());
+    }
+
+    @Test
+    void testInternKnownItem() {
+        Equipment item = EquipmentCatalog.intern("swift bow", 1, 0, 2, 2, 50);
+        assertSame(EquipmentCatalog.rollWeapon(6), item);
+        assertSame(item, EquipmentCatalog.intern(new Equipment("swift bow", 1, 0, 2, 2, 50)));
+    }
+
+    @Test
+    void testInternNewItemIsNotAdded() {
+        Equipment custom = new Equipment("catalog test item", 3, 4, 5, 6, 7);
+        Equipment first = EquipmentCatalog.intern(custom);
+        Equipment second = EquipmentCatalog.intern("catalog test item", 3, 4, 5, 6, 7);
+
+        assertSame(custom, first);
+        assertNotSame(first, second);
+        assertEquals(7, second.getWorth());
+        assertEquals(EquipmentCatalog.NO_ID, EquipmentCatalog.idOf(custom));
+        assertEquals(14, EquipmentCatalog.size());
+    }
+
+    @Test
+    void testSameNameDifferentValues() {
+        Equipment shop = EquipmentCatalog.intern("iron sword", 2, 0, 0, 0, 25);
+        Equipment forged = EquipmentCatalog.intern("iron sword", 3, 0, 0, 0, 25);
+
+        assertSame(EquipmentCatalog.rollWeapon(3), shop);
+        assertNotSame(shop, forged);
+        assertEquals(3, forged.getStrength());
+        assertEquals(EquipmentCatalog.NO_ID, EquipmentCatalog.idOf(forged));
+    }
+}
@@ -22,4 +22,15 @@ public class EquipmentTest {
         assertEquals(5, testEquipment.getSpeed());
         assertEquals(400, testEquipment.getWorth());
     }
+
+    @Test
+    void testEqualsByValue() {
+        Equipment same = new Equipment("testName", 8, 7, 6, 5, 400);
+        assertEquals(testEquipment, same);
+        assertEquals(testEquipment.hashCode(), same.hashCode());
+        assertNotEquals(testEquipment, new Equipment("otherName", 8, 7, 6, 5, 400));
+        assertNotEquals(testEquipment, new Equipment("testName", 8, 7, 6, 4, 400));
+        assertNotEquals(testEquipment, new Equipment("testName", 8, 7, 6, 5, 399));
+        assertNotEquals(testEquipment, null);
+    }
 }
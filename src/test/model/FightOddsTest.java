@@ -0,0 +1,95 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import player.Character;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FightOddsTest {
+    private static final double EXACT = 1e-9;
+
+    private Character player;
+
+    @BeforeEach
+    void runBefore() {
+        player = new Character("player", "human", "warrior", 30, 12, 10, 30, 12);
+    }
+
+    @Test
+    void testOneHitEach() {
+        Character fast = new Character("fast", "elf", "rogue", 5, 50, 0, 29, 20);
+        Character slow = new Character("slow", "dwarf", "warrior", 5, 50, 0, 14, 5);
+        double p = 30.0 / 61;
+        double q = 15.0 / 61;
+        FightOdds odds = new FightOdds(slow, fast);
+
+        assertEquals(1 - p / (1 - (1 - p) * (1 - q)), odds.getWinProbability(), EXACT);
+        assertEquals(1 / (1 - (1 - p) * (1 - q)), odds.getExpectedRounds(), EXACT);
+        assertEquals(p / (1 - (1 - p) * (1 - q)), new FightOdds(fast, slow).getWinProbability(), EXACT);
+    }
+
+    @Test
+    void testCertainOutcomes() {
+        Character hero = new Character("hero", "human", "champion", 50, 100, 10, 60, 100);
+        FightOdds odds = new FightOdds(hero, ArenaRoster.enemyFor(5));
+
+        assertEquals(1, odds.getWinProbability(), EXACT);
+        assertEquals(1, odds.getExpectedRounds(), EXACT);
+        assertArrayEquals(new double[]{0, 1, 0}, odds.getRoundDistribution(2), EXACT);
+        assertEquals(0, new FightOdds(ArenaRoster.enemyFor(5), hero).getWinProbability(), EXACT);
+    }
+
+    @Test
+    void testNeitherCanHit() {
+        Character clumsy = new Character("clumsy", "human", "warrior", 5, 5, 5, -1, 5);
+        try {
+            new FightOdds(clumsy, clumsy);
+            fail("Uncaught IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testRoundDistribution() {
+        FightOdds odds = new FightOdds(player, ArenaRoster.enemyFor(3));
+        double[] distribution = odds.getRoundDistribution(400);
+        double total = 0;
+        double mean = 0;
+        for (int round = 0; round < distribution.length; round++) {
+            total += distribution[round];
+            mean += round * distribution[round];
+        }
+
+        assertEquals(0, distribution[0]);
+        assertEquals(1, total, 1e-9);
+        assertEquals(odds.getExpectedRounds(), mean, 1e-6);
+        double[] truncated = odds.getRoundDistribution(5);
+        for (int round = 0; round < truncated.length; round++) {
+            assertEquals(distribution[round], truncated[round], EXACT);
+        }
+    }
+
+    @Test
+    void testAgreesWithSimulation() {
+        for (int level = 1; level <= ArenaRoster.NUMBER_OF_LEVELS; level++) {
+            Character enemy = ArenaRoster.enemyFor(level);
+            FightReport report = new FightSimulator(level).simulate(player, enemy, 100000);
+            assertEquals(report.getWinRate(), new FightOdds(player, enemy).getWinProbability(), 0.01);
+        }
+    }
+
+    @Test
+    void testLargeHealthIsFast() {
+        Character giant = new Character("giant", "cyclops", "barbarian", 5000, 1, 10, 20, 5);
+        Character titan = new Character("titan", "cyclops", "barbarian", 5000, 1, 10, 20, 10);
+        long start = System.nanoTime();
+        FightOdds odds = new FightOdds(giant, titan);
+        long millis = (System.nanoTime() - start) / 1000000;
+
+        assertTrue(odds.getWinProbability() > 0.4 && odds.getWinProbability() < 0.5);
+        assertTrue(odds.getExpectedRounds() > 5000);
+        assertTrue(millis < 2000);
+    }
+}
@@ -0,0 +1,101 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import player.Character;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FightSimulatorTest {
+    private Character player;
+
+    @BeforeEach
+    void runBefore() {
+        player = new Character("player", "human", "warrior", 30, 12, 10, 30, 12);
+    }
+
+    @Test
+    void testCertainWin() {
+        Character hero = new Character("hero", "human", "champion", 50, 100, 10, 60, 100);
+        FightReport report = new FightSimulator(1).simulate(hero, ArenaRoster.enemyFor(5), 1000);
+
+        assertEquals(1000, report.getFights());
+        assertEquals(1000, report.getWins());
+        assertEquals(1.0, report.getWinRate());
+        assertEquals(1.0, report.getMeanRoundsToWin());
+        assertEquals(1, report.getRoundsToWinPercentile(99));
+        assertEquals(50, report.getHealthRemainingPercentile(50));
+        assertEquals(50, hero.getCurrentHealth());
+    }
+
+    @Test
+    void testSameSeedSameReportOnAnyThreads() {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        int fights = 5 * FightSimulator.LEAF_FIGHTS + 7;
+        FightReport single = new FightSimulator(99, one).simulate(player, ArenaRoster.enemyFor(2), fights);
+        FightReport parallel = new FightSimulator(99, four).simulate(player, ArenaRoster.enemyFor(2), fights);
+        FightReport other = new FightSimulator(100, four).simulate(player, ArenaRoster.enemyFor(2), fights);
+        one.shutdown();
+        four.shutdown();
+
+        assertEquals(fights, single.getFights());
+        assertEquals(single, parallel);
+        assertEquals(single.toString(), parallel.toString());
+        assertNotEquals(single, other);
+        assertTrue(single.getWins() > 0 && single.getWins() < fights);
+    }
+
+    @Test
+    void testSimulateArena() {
+        FightReport[] reports = new FightSimulator(3).simulateArena(player, 2000);
+
+        assertEquals(ArenaRoster.NUMBER_OF_LEVELS, reports.length);
+        for (FightReport report : reports) {
+            assertEquals(2000, report.getFights());
+        }
+        assertTrue(reports[0].getWinRate() > reports[4].getWinRate());
+        assertEquals(30, player.getCurrentHealth());
+        assertArrayEquals(reports, new FightSimulator(3).simulateArena(player, 2000));
+    }
+
+    @Test
+    void testReportPercentiles() {
+        FightReport report = new FightReport();
+        assertEquals(0, report.getRoundsToWinPercentile(50));
+        assertEquals(0.0, report.getWinRate());
+        for (int rounds = 1; rounds <= 100; rounds++) {
+            report.record(true, rounds, 100 - rounds);
+        }
+        report.record(false, 3, 0);
+
+        assertEquals(101, report.getFights());
+        assertEquals(100, report.getWins());
+        assertEquals(50.5, report.getMeanRoundsToWin());
+        assertEquals(49.5, report.getMeanHealthRemaining());
+        assertEquals(50, report.getRoundsToWinPercentile(50));
+        assertEquals(90, report.getRoundsToWinPercentile(90));
+        assertEquals(100, report.getRoundsToWinPercentile(100));
+        assertEquals(1, report.getRoundsToWinPercentile(0));
+        assertEquals(9, report.getHealthRemainingPercentile(10));
+    }
+
+    @Test
+    void testReportMerge() {
+        FightReport first = new FightReport();
+        FightReport second = new FightReport();
+        FightReport both = new FightReport();
+        first.record(true, 2, 5);
+        second.record(true, 40, 1);
+        second.record(false, 4, 0);
+        both.record(true, 2, 5);
+        both.record(true, 40, 1);
+        both.record(false, 4, 0);
+        first.merge(second);
+
+        assertEquals(both, first);
+        assertEquals(40, first.getRoundsToWinPercentile(100));
+    }
+}
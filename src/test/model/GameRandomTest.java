@@ -0,0 +1,51 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRandomTest {
+    @Test
+    void testSameSeedSameRolls() {
+        GameRandom first = new GameRandom(12);
+        GameRandom second = new GameRandom(12);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.roll(60), second.roll(60));
+        }
+    }
+
+    @Test
+    void testRollsStayInRange() {
+        GameRandom random = new GameRandom(5);
+        boolean[] seen = new boolean[EquipmentCatalog.MAX_ROLL + 1];
+        for (int i = 0; i < 10000; i++) {
+            int roll = random.roll(EquipmentCatalog.MAX_ROLL);
+            assertTrue(roll >= 0 && roll <= EquipmentCatalog.MAX_ROLL);
+            seen[roll] = true;
+        }
+        for (boolean rolled : seen) {
+            assertTrue(rolled);
+        }
+        assertEquals(0, random.roll(0));
+        assertEquals(0, random.nextInt(1));
+    }
+
+    @Test
+    void testSplitIsRepeatableAndIndependent() {
+        GameRandom first = new GameRandom(3);
+        GameRandom second = new GameRandom(3);
+        GameRandom firstSplit = first.split();
+        GameRandom secondSplit = second.split();
+        int same = 0;
+        for (int i = 0; i < 1000; i++) {
+            int roll = firstSplit.nextInt(1000);
+            assertEquals(roll, secondSplit.nextInt(1000));
+            int parentRoll = first.nextInt(1000);
+            assertEquals(parentRoll, second.nextInt(1000));
+            if (roll == parentRoll) {
+                same++;
+            }
+        }
+        assertTrue(same < 20);
+    }
+}
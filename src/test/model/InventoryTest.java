@@ -4,6 +4,10 @@ import exceptions.InvalidEquipmentException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class InventoryTest {
@@ -130,5 +134,246 @@ class InventoryTest {
         }
     }
 
+    @Test
+    void testTotalsAfterRemove() {
+        Equipment other = new Equipment("other", 1, 2, 3, 4, 10);
+        testInventory.setConsistencyChecking(true);
+        testInventory.addEquipment(testEquipment);
+        testInventory.addEquipment(other);
+        testInventory.addEquipment(testEquipment);
+        try {
+            testInventory.removeEquipment(0);
+            assertEquals(9, testInventory.getTotalStrength());
+            assertEquals(9, testInventory.getTotalEndurance());
+            assertEquals(9, testInventory.getTotalDexterity());
+            assertEquals(9, testInventory.getTotalSpeed());
+
+            testInventory.removeEquipment(1);
+            testInventory.removeEquipment(0);
+            assertEquals(0, testInventory.getTotalStrength());
+            assertEquals(0, testInventory.getTotalEndurance());
+            assertEquals(0, testInventory.getTotalDexterity());
+            assertEquals(0, testInventory.getTotalSpeed());
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException.");
+        }
+        assertTrue(testInventory.totalsAreConsistent());
+    }
+
+    @Test
+    void testTotalsUnchangedByFailedRemove() {
+        testInventoryWithEquipment.setConsistencyChecking(true);
+        try {
+            testInventoryWithEquipment.removeEquipment(5);
+            fail("Uncaught InvalidEquipmentException");
+        } catch (InvalidEquipmentException e) {
+            // expected
+        }
+        assertEquals(8, testInventoryWithEquipment.getTotalStrength());
+        assertTrue(testInventoryWithEquipment.totalsAreConsistent());
+    }
+
+    @Test
+    void testTotalsConsistentWithManyItems() {
+        testInventory.setConsistencyChecking(true);
+        for (int i = 0; i < 100; i++) {
+            testInventory.addEquipment(new Equipment("item" + i, i % 3, i % 5, i % 7, i % 11, i));
+        }
+        try {
+            for (int i = 0; i < 50; i++) {
+                testInventory.removeEquipment(i);
+            }
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException.");
+        }
+        assertEquals(50, testInventory.getInventorySize());
+        assertTrue(testInventory.totalsAreConsistent());
+    }
+
+    @Test
+    void testFindAndCountByName() {
+        Equipment sword = new Equipment("sword", 3, 0, 0, 0, 20);
+        testInventory.addEquipment(sword);
+        testInventory.addEquipment(testEquipment);
+        assertEquals(1, testInventory.countBy("sword"));
+
+        testInventory.addEquipment(sword);  // added after the index was built
+        List<Equipment> swords = testInventory.findByName("sword");
+        assertEquals(2, swords.size());
+        assertSame(sword, swords.get(1));
+        assertEquals(0, testInventory.countBy("shield"));
+        assertTrue(testInventory.findByName("shield").isEmpty());
+
+        try {
+            testInventory.removeEquipment(0);
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException.");
+        }
+        assertEquals(1, testInventory.countBy("sword"));
+        assertEquals(1, testInventory.countBy("testName"));
+    }
+
+    @Test
+    void testBestBy() {
+        assertNull(testInventory.bestBy(Stat.STRENGTH));
+        Equipment fast = new Equipment("fast", 1, 0, 0, 9, 10);
+        Equipment strong = new Equipment("strong", 9, 0, 0, 1, 10);
+        testInventory.addEquipment(fast);
+        assertSame(fast, testInventory.bestBy(Stat.STRENGTH));
+
+        testInventory.addEquipment(strong);  // added after the index was built
+        assertSame(strong, testInventory.bestBy(Stat.STRENGTH));
+        assertSame(fast, testInventory.bestBy(Stat.SPEED));
+        assertSame(fast, testInventory.bestBy(Stat.WORTH));  // ties keep the first equipment
+
+        try {
+            testInventory.removeEquipment(1);
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException.");
+        }
+        assertSame(fast, testInventory.bestBy(Stat.STRENGTH));
+    }
+
+    @Test
+    void testTopK() {
+        for (int worth = 1; worth <= 10; worth++) {
+            testInventory.addEquipment(new Equipment("item" + worth, 0, 0, 0, 0, worth * 7 % 11));
+        }
+        Comparator<Equipment> byWorth = Comparator.comparingInt(Equipment::getWorth);
+        List<Equipment> top = testInventory.topK(byWorth, 3);
+        assertEquals(3, top.size());
+        assertEquals(10, top.get(0).getWorth());
+        assertEquals(9, top.get(1).getWorth());
+        assertEquals(8, top.get(2).getWorth());
 
-}
\ No newline at end of file
+        assertEquals(10, testInventory.topK(byWorth, 20).size());
+        assertTrue(testInventory.topK(byWorth, 0).isEmpty());
+    }
+
+    @Test
+    void testAddAll() {
+        List<Equipment> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new Equipment("item" + i, i, 1, 2, 3, i));
+        }
+        testInventoryWithEquipment.setConsistencyChecking(true);
+        testInventoryWithEquipment.addAll(items);
+        assertEquals(11, testInventoryWithEquipment.getInventorySize());
+        assertEquals(8 + 45, testInventoryWithEquipment.getTotalStrength());
+        assertEquals(7 + 10, testInventoryWithEquipment.getTotalEndurance());
+        assertEquals(1, testInventoryWithEquipment.countBy("item9"));
+    }
+
+    @Test
+    void testRemoveAll() {
+        for (int i = 0; i < 10; i++) {
+            testInventory.addEquipment(new Equipment("item" + i, i, 0, 0, 0, i));
+        }
+        testInventory.setConsistencyChecking(true);
+        try {
+            testInventory.removeAll(new int[]{9, 0, 4, 4, 5});
+            assertEquals(6, testInventory.getInventorySize());
+            assertEquals("item1", testInventory.getEquipment(0).getName());
+            assertEquals("item3", testInventory.getEquipment(2).getName());
+            assertEquals("item6", testInventory.getEquipment(3).getName());
+            assertEquals("item8", testInventory.getEquipment(5).getName());
+            assertEquals(1 + 2 + 3 + 6 + 7 + 8, testInventory.getTotalStrength());
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException.");
+        }
+    }
+
+    @Test
+    void testRemoveAllOutOfBoundsRemovesNothing() {
+        try {
+            testInventoryWithEquipment.removeAll(new int[]{0, 1});
+            fail("Uncaught InvalidEquipmentException");
+        } catch (InvalidEquipmentException e) {
+            // expected
+        }
+        assertEquals(1, testInventoryWithEquipment.getInventorySize());
+        assertEquals(8, testInventoryWithEquipment.getTotalStrength());
+    }
+
+    @Test
+    void testRemoveIf() {
+        for (int i = 0; i < 10; i++) {
+            testInventory.addEquipment(new Equipment("item" + i, i, 0, 0, 0, i * 10));
+        }
+        testInventory.setConsistencyChecking(true);
+        assertEquals(5, testInventory.removeIf(item -> item.getWorth() >= 50));
+        assertEquals(5, testInventory.getInventorySize());
+        assertEquals(10, testInventory.getTotalStrength());
+        assertEquals(0, testInventory.countBy("item7"));
+        assertEquals(0, testInventory.removeIf(item -> false));
+        assertEquals(5, testInventory.getInventorySize());
+    }
+
+    @Test
+    void testForEach() {
+        for (int i = 0; i < 5; i++) {
+            testInventory.addEquipment(new Equipment("item" + i, i, 0, 0, 0, i * 10));
+        }
+        List<String> names = new ArrayList<>();
+        testInventory.forEach((index, item) -> {
+            assertEquals("item" + index, item.getName());
+            names.add(item.getName());
+        });
+        assertEquals(5, names.size());
+
+        int[] worth = new int[1];
+        testInventoryWithEquipment.forEachStats((index, strength, endurance, dexterity, speed, value) -> {
+            assertEquals(0, index);
+            assertEquals(8, strength);
+            assertEquals(7, endurance);
+            assertEquals(6, dexterity);
+            assertEquals(5, speed);
+            worth[0] += value;
+        });
+        assertEquals(400, worth[0]);
+    }
+
+    @Test
+    void testCheckpointTracking() {
+        assertTrue(testInventoryWithEquipment.hasChangedSinceCheckpoint());
+        testInventoryWithEquipment.checkpoint();
+        assertFalse(testInventoryWithEquipment.hasChangedSinceCheckpoint());
+
+        testInventoryWithEquipment.addEquipment(new Equipment("added", 1, 1, 1, 1, 1));
+        assertTrue(testInventoryWithEquipment.hasChangedSinceCheckpoint());
+        assertEquals(0, testInventoryWithEquipment.getRemovedSinceCheckpoint().length);
+        assertEquals("added", testInventoryWithEquipment.getAddedSinceCheckpoint().get(0).getName());
+
+        assertEquals(1, testInventoryWithEquipment.removeIf(item -> item.getName().equals("testName")));
+        assertArrayEquals(new int[]{0}, testInventoryWithEquipment.getRemovedSinceCheckpoint());
+        assertEquals(1, testInventoryWithEquipment.getAddedSinceCheckpoint().size());
+
+        testInventoryWithEquipment.checkpoint();
+        assertFalse(testInventoryWithEquipment.hasChangedSinceCheckpoint());
+        assertEquals(0, testInventoryWithEquipment.getAddedSinceCheckpoint().size());
+    }
+
+    @Test
+    void testSnapshotIsCopyOnWrite() {
+        Inventory snapshot = testInventoryWithEquipment.snapshot();
+        assertEquals(1, snapshot.getInventorySize());
+        assertEquals(8, snapshot.getTotalStrength());
+
+        snapshot.addEquipment(new Equipment("extra", 1, 0, 0, 0, 0));
+        assertEquals(2, snapshot.getInventorySize());
+        assertEquals(1, testInventoryWithEquipment.getInventorySize());
+        assertEquals(8, testInventoryWithEquipment.getTotalStrength());
+
+        Inventory second = testInventoryWithEquipment.snapshot();
+        try {
+            testInventoryWithEquipment.removeEquipment(0);
+            assertEquals(1, second.getInventorySize());
+            assertSame(testEquipment, second.getEquipment(0));
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException");
+        }
+        assertEquals(0, testInventoryWithEquipment.getInventorySize());
+        assertEquals(9, snapshot.getTotalStrength());
+        assertTrue(snapshot.totalsAreConsistent());
+    }
+}
@@ -0,0 +1,115 @@
+package model;
+
+import exceptions.InvalidEquipmentException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentInventoryTest {
+    PersistentInventory empty;
+    Equipment testEquipment;
+
+    @BeforeEach
+    void runBefore() {
+        empty = PersistentInventory.empty();
+        testEquipment = new Equipment("testName", 8, 7, 6, 5, 400);
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, empty.getInventorySize());
+        assertEquals(0, empty.getTotalStrength());
+        try {
+            empty.getEquipment(0);
+            fail("Uncaught InvalidEquipmentException");
+        } catch (InvalidEquipmentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testAddLeavesOldVersionUnchanged() {
+        PersistentInventory one = empty.addEquipment(testEquipment);
+        PersistentInventory two = one.addEquipment(testEquipment);
+
+        assertEquals(0, empty.getInventorySize());
+        assertEquals(1, one.getInventorySize());
+        assertEquals(2, two.getInventorySize());
+        assertEquals(8, one.getTotalStrength());
+        assertEquals(14, two.getTotalEndurance());
+        assertEquals(12, two.getTotalDexterity());
+        assertEquals(10, two.getTotalSpeed());
+    }
+
+    @Test
+    void testRemoveLeavesOldVersionUnchanged() {
+        PersistentInventory full = empty;
+        for (int i = 0; i < 10; i++) {
+            full = full.addEquipment(new Equipment("item" + i, i, 0, 0, 0, i));
+        }
+        try {
+            PersistentInventory removed = full.removeEquipment(3);
+            assertEquals(10, full.getInventorySize());
+            assertEquals(9, removed.getInventorySize());
+            assertEquals("item3", full.getEquipment(3).getName());
+            assertEquals("item4", removed.getEquipment(3).getName());
+            assertEquals(45 - 3, removed.getTotalStrength());
+
+            removed.removeEquipment(9);
+            fail("Uncaught InvalidEquipmentException");
+        } catch (InvalidEquipmentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testRandomEditsMatchInventory() {
+        Random random = new Random(210);
+        Inventory expected = new Inventory();
+        PersistentInventory actual = empty;
+        try {
+            for (int step = 0; step < 5000; step++) {
+                if (expected.getInventorySize() > 0 && random.nextInt(3) == 0) {
+                    int index = random.nextInt(expected.getInventorySize());
+                    expected.removeEquipment(index);
+                    actual = actual.removeEquipment(index);
+                } else {
+                    Equipment item = EquipmentCatalog.rollArmour(random.nextInt(EquipmentCatalog.MAX_ROLL + 1));
+                    expected.addEquipment(item);
+                    actual = actual.addEquipment(item);
+                }
+            }
+            assertEquals(expected.getInventorySize(), actual.getInventorySize());
+            for (int i = 0; i < expected.getInventorySize(); i++) {
+                assertSame(expected.getEquipment(i), actual.getEquipment(i));
+            }
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException.");
+        }
+        assertEquals(expected.getTotalStrength(), actual.getTotalStrength());
+        assertEquals(expected.getTotalEndurance(), actual.getTotalEndurance());
+        assertEquals(expected.getTotalDexterity(), actual.getTotalDexterity());
+        assertEquals(expected.getTotalSpeed(), actual.getTotalSpeed());
+    }
+
+    @Test
+    void testCopyOfAndForEach() {
+        Inventory inventory = new Inventory();
+        for (int i = 0; i < 20; i++) {
+            inventory.addEquipment(new Equipment("item" + i, 1, 0, 0, 0, i));
+        }
+        PersistentInventory copy = PersistentInventory.copyOf(inventory);
+        List<Equipment> visited = new ArrayList<>();
+        copy.forEach(visited::add);
+
+        assertEquals(20, visited.size());
+        assertEquals("item0", visited.get(0).getName());
+        assertEquals("item19", visited.get(19).getName());
+        assertEquals(20, copy.getTotalStrength());
+    }
+}
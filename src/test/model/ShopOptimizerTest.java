@@ -0,0 +1,104 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import player.Character;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShopOptimizerTest {
+    private ShopOptimizer optimizer;
+    private Inventory shop;
+
+    @BeforeEach
+    void runBefore() {
+        optimizer = new ShopOptimizer(1, 1, 1, 1);
+        shop = new Inventory();
+    }
+
+    @Test
+    void testEmptyShop() {
+        assertEquals(0, optimizer.optimize(shop, 1000).length);
+    }
+
+    @Test
+    void testPicksBestCombination() {
+        shop.addEquipment(new Equipment("expensive", 10, 0, 0, 0, 100));
+        shop.addEquipment(new Equipment("cheap one", 6, 0, 0, 0, 50));
+        shop.addEquipment(new Equipment("cheap two", 6, 0, 0, 0, 50));
+        shop.addEquipment(new Equipment("useless", 0, 0, 0, 0, 0));
+
+        assertArrayEquals(new int[]{1, 2}, optimizer.optimize(shop, 100));
+        assertArrayEquals(new int[]{1}, optimizer.optimize(shop, 99));
+        assertArrayEquals(new int[]{0, 1, 2}, optimizer.optimize(shop, 200));
+        assertEquals(0, optimizer.optimize(shop, 49).length);
+    }
+
+    @Test
+    void testWeightsAndCharacterBudget() {
+        ShopOptimizer speedOnly = new ShopOptimizer(0, 0, 0, 1);
+        shop.addEquipment(EquipmentCatalog.rollWeapon(EquipmentCatalog.MAX_ROLL - 2));  // demonic dagger, speed 5
+        shop.addEquipment(EquipmentCatalog.rollWeapon(EquipmentCatalog.MAX_ROLL - 1));  // holy longsword, no speed
+        Character buyer = new Character("buyer", "human", "merchant", 10, 10, 10, 10, 10);
+
+        assertArrayEquals(new int[]{0}, speedOnly.optimize(buyer, shop));
+        assertEquals(11 + 4, optimizer.score(EquipmentCatalog.rollWeapon(EquipmentCatalog.MAX_ROLL - 1)));
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 200; trial++) {
+            Inventory randomShop = new Inventory();
+            int size = 1 + random.nextInt(12);
+            for (int i = 0; i < size; i++) {
+                randomShop.addEquipment(new Equipment("item", random.nextInt(8), random.nextInt(8),
+                        random.nextInt(3) - 1, 0, random.nextInt(20) * 5));
+            }
+            int budget = random.nextInt(150);
+            int[] chosen = optimizer.optimize(randomShop, budget);
+            assertEquals(bruteForce(randomShop, budget), totalScore(randomShop, chosen));
+            assertTrue(totalWorth(randomShop, chosen) <= budget);
+        }
+    }
+
+    // EFFECTS: produce the best total score by trying every subset of the shop
+    private long bruteForce(Inventory shop, int budget) {
+        long best = 0;
+        int size = shop.getInventorySize();
+        for (int mask = 0; mask < (1 << size); mask++) {
+            int worth = 0;
+            long score = 0;
+            for (int i = 0; i < size; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    worth += shop.equipmentAt(i).getWorth();
+                    score += optimizer.score(shop.equipmentAt(i));
+                }
+            }
+            if (worth <= budget) {
+                best = Math.max(best, score);
+            }
+        }
+        return best;
+    }
+
+    // EFFECTS: produce the total score of the chosen items
+    private long totalScore(Inventory shop, int[] chosen) {
+        long score = 0;
+        for (int index : chosen) {
+            score += optimizer.score(shop.equipmentAt(index));
+        }
+        return score;
+    }
+
+    // EFFECTS: produce the total worth of the chosen items
+    private int totalWorth(Inventory shop, int[] chosen) {
+        int worth = 0;
+        for (int index : chosen) {
+            worth += shop.equipmentAt(index).getWorth();
+        }
+        return worth;
+    }
+}
@@ -0,0 +1,93 @@
+package model;
+
+/**
+ * A small benchmark comparing how long it takes to total the stats of many equipment with four separate loops (one
+ * per stat, as Inventory used to do) against the packed StatTotals halves Inventory keeps its running totals in (two
+ * additions per item), and against filling a whole Inventory with Inventory.addEquipment.
+ *
+ * JMH is not available in this project's libraries, so this is a hand-rolled harness: each version is warmed up
+ * before being timed, and the results are consumed so the JIT cannot remove the work. Run main to print the results.
+ *
+ * @author Arjun
+ */
+public class StatBlockBenchmark {
+    private static final int ITEMS = 4096;
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int TIMED_ROUNDS = 50_000;
+
+    // EFFECTS: prints the average time of one aggregation with each version
+    public static void main(String[] args) {
+        Equipment[] items = new Equipment[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            items[i] = EquipmentCatalog.rollWeapon(i % (EquipmentCatalog.MAX_ROLL + 1) / 2);
+        }
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += fourLoops(items) + packed(items) + inventory(items);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < TIMED_ROUNDS; round++) {
+            sink += fourLoops(items);
+        }
+        long fourLoopTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int round = 0; round < TIMED_ROUNDS; round++) {
+            sink += packed(items);
+        }
+        long packedTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int round = 0; round < TIMED_ROUNDS; round++) {
+            sink += inventory(items);
+        }
+        long inventoryTime = System.nanoTime() - start;
+
+        System.out.printf("four loops:   %.1f ns/op%n", (double) fourLoopTime / TIMED_ROUNDS);
+        System.out.printf("StatTotals:   %.1f ns/op%n", (double) packedTime / TIMED_ROUNDS);
+        System.out.printf("addEquipment: %.1f ns/op%n", (double) inventoryTime / TIMED_ROUNDS);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    // EFFECTS: produce a checksum of the four totals, computed with one loop per stat
+    private static long fourLoops(Equipment[] items) {
+        int strength = 0;
+        for (Equipment item : items) {
+            strength += item.getStrength();
+        }
+        int endurance = 0;
+        for (Equipment item : items) {
+            endurance += item.getEndurance();
+        }
+        int dexterity = 0;
+        for (Equipment item : items) {
+            dexterity += item.getDexterity();
+        }
+        int speed = 0;
+        for (Equipment item : items) {
+            speed += item.getSpeed();
+        }
+        return strength + endurance + dexterity + speed;
+    }
+
+    // EFFECTS: produce a checksum of the four totals, computed the way Inventory keeps them: two packed StatTotals
+    //          halves, each updated with one addition per item
+    private static long packed(Equipment[] items) {
+        long low = 0L;
+        long high = 0L;
+        for (Equipment item : items) {
+            low = StatTotals.addHalves(low, item.getLowHalf());
+            high = StatTotals.addHalves(high, item.getHighHalf());
+        }
+        return StatTotals.lowerOf(low) + StatTotals.upperOf(low) + StatTotals.lowerOf(high)
+                + StatTotals.upperOf(high);
+    }
+
+    // EFFECTS: produce a checksum of the four totals of a new Inventory filled with every item by addEquipment
+    private static long inventory(Equipment[] items) {
+        Inventory inventory = new Inventory();
+        for (Equipment item : items) {
+            inventory.addEquipment(item);
+        }
+        return inventory.getTotalStrength() + inventory.getTotalEndurance() + inventory.getTotalDexterity()
+                + inventory.getTotalSpeed();
+    }
+}
@@ -0,0 +1,113 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatBlockTest {
+
+    @Test
+    void testOfAndGetters() {
+        long stats = StatBlock.of(1, -2, 300, StatBlock.MAX_STAT);
+        assertEquals(1, StatBlock.strength(stats));
+        assertEquals(-2, StatBlock.endurance(stats));
+        assertEquals(300, StatBlock.dexterity(stats));
+        assertEquals(StatBlock.MAX_STAT, StatBlock.speed(stats));
+        assertEquals(StatBlock.ZERO, StatBlock.of(0, 0, 0, 0));
+    }
+
+    @Test
+    void testOfOutOfRange() {
+        try {
+            StatBlock.of(0, StatBlock.MAX_STAT + 1, 0, 0);
+            fail("Uncaught IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            StatBlock.of(0, 0, 0, StatBlock.MIN_STAT - 1);
+            fail("Uncaught IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testAddAndSubtractEveryLane() {
+        int[] values = {StatBlock.MIN_STAT, -1000, -1, 0, 1, 7, 1000, StatBlock.MAX_STAT};
+        for (int a : values) {
+            for (int b : values) {
+                checkLanes(a, b);
+            }
+        }
+    }
+
+    // EFFECTS: checks that adding and subtracting a and b in every lane matches int arithmetic, or overflows
+    //          exactly when the int result is out of range
+    private void checkLanes(int a, int b) {
+        long left = StatBlock.of(a, b, a, b);
+        long right = StatBlock.of(b, a, 0, b);
+        int[] expectedSum = {a + b, b + a, a, b + b};
+        int[] expectedDifference = {a - b, b - a, a, 0};
+        checkResult(expectedSum, () -> StatBlock.add(left, right));
+        checkResult(expectedDifference, () -> StatBlock.subtract(left, right));
+    }
+
+    // EFFECTS: checks that operation produces the expected lanes, or throws if any of them is out of range
+    private void checkResult(int[] expected, LongSupplier operation) {
+        boolean overflows = false;
+        for (int value : expected) {
+            overflows |= value < StatBlock.MIN_STAT || value > StatBlock.MAX_STAT;
+        }
+        try {
+            long result = operation.getAsLong();
+            assertFalse(overflows);
+            assertEquals(expected[0], StatBlock.strength(result));
+            assertEquals(expected[1], StatBlock.endurance(result));
+            assertEquals(expected[2], StatBlock.dexterity(result));
+            assertEquals(expected[3], StatBlock.speed(result));
+        } catch (ArithmeticException e) {
+            assertTrue(overflows);
+        }
+    }
+
+    @Test
+    void testInventoryTotalsExceedOneLane() {
+        Inventory inventory = new Inventory();
+        Equipment heavy = new Equipment("heavy", StatBlock.MAX_STAT, 0, 0, StatBlock.MIN_STAT, 0);
+        inventory.addEquipment(heavy);
+        inventory.addEquipment(heavy);
+        assertEquals(2, inventory.getInventorySize());
+        assertEquals(2 * StatBlock.MAX_STAT, inventory.getTotalStrength());
+        assertEquals(2 * StatBlock.MIN_STAT, inventory.getTotalSpeed());
+    }
+
+    @Test
+    void testMultiply() {
+        long stats = StatBlock.of(3, -2, 0, 7);
+        assertEquals(StatBlock.of(30, -20, 0, 70), StatBlock.multiply(stats, 10));
+        assertEquals(StatBlock.ZERO, StatBlock.multiply(stats, 0));
+        assertEquals(StatBlock.of(-3, 2, 0, -7), StatBlock.multiply(stats, -1));
+        try {
+            StatBlock.multiply(stats, StatBlock.MAX_STAT / 7 + 1);
+            fail("Uncaught ArithmeticException");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testScale() {
+        long stats = StatBlock.of(300, -7, 10, 1000);
+        assertEquals(stats, StatBlock.scale(stats, StatBlock.of(100, 100, 100, 100)));
+        assertEquals(StatBlock.of(450, -3, 0, 2500), StatBlock.scale(stats, StatBlock.of(150, 50, 0, 250)));
+        try {
+            StatBlock.scale(stats, StatBlock.of(100, 100, 100, 4000));
+            fail("Uncaught ArithmeticException");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+    }
+}
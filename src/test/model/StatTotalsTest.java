@@ -0,0 +1,88 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatTotalsTest {
+    StatTotals testTotals;
+
+    @BeforeEach
+    void runBefore() {
+        testTotals = new StatTotals(StatBlock.MAX_STAT, 2, -3, 4);
+    }
+
+    @Test
+    void testPlusAndMinusPassOneLane() {
+        StatTotals doubled = testTotals.plus(StatBlock.of(StatBlock.MAX_STAT, 2, -3, 4));
+        assertEquals(new StatTotals(2 * StatBlock.MAX_STAT, 4, -6, 8), doubled);
+        assertEquals(testTotals, doubled.minus(StatBlock.of(StatBlock.MAX_STAT, 2, -3, 4)));
+        assertEquals(testTotals, StatTotals.ZERO.plus(testTotals));
+        assertEquals(new StatTotals(1, 2, -3, 4), StatTotals.of(StatBlock.of(1, 2, -3, 4)));
+    }
+
+    @Test
+    void testTimes() {
+        long growth = StatBlock.of(3, 0, -1, 2);
+        assertEquals(new StatTotals(30000, 0, -10000, 20000), StatTotals.times(growth, 10000));
+        try {
+            StatTotals.times(growth, Integer.MAX_VALUE);
+            fail("Uncaught ArithmeticException");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testOverflowThrows() {
+        StatTotals huge = new StatTotals(Integer.MAX_VALUE, 0, 0, 0);
+        try {
+            huge.plus(StatBlock.of(1, 0, 0, 0));
+            fail("Uncaught ArithmeticException");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+        assertEquals(Integer.MAX_VALUE, huge.getStrength());
+    }
+
+    @Test
+    void testScale() {
+        StatTotals scaled = testTotals.scale(StatBlock.of(200, 100, 50, 0));
+        assertEquals(new StatTotals(2 * StatBlock.MAX_STAT, 2, -1, 0), scaled);
+        assertEquals(testTotals.hashCode(), new StatTotals(StatBlock.MAX_STAT, 2, -3, 4).hashCode());
+        assertEquals("STR 32767, END 2, DEX -3, SPD 4", testTotals.toString());
+    }
+
+    @Test
+    void testHalvesKeepLanesApart() {
+        long low = StatTotals.widenLow(StatBlock.of(-1, 1, 0, 0));
+        long high = StatTotals.widenHigh(StatBlock.of(0, 0, StatBlock.MIN_STAT, StatBlock.MAX_STAT));
+        low = StatTotals.addHalves(low, StatTotals.widenLow(StatBlock.of(-1, -2, 0, 0)));
+        high = StatTotals.subtractHalves(high, StatTotals.widenHigh(StatBlock.of(0, 0, 1, -1)));
+        assertEquals(-2, StatTotals.lowerOf(low));
+        assertEquals(-1, StatTotals.upperOf(low));
+        assertEquals(StatBlock.MIN_STAT - 1, StatTotals.lowerOf(high));
+        assertEquals(StatBlock.MAX_STAT + 1, StatTotals.upperOf(high));
+        assertEquals(new StatTotals(-2, -1, StatBlock.MIN_STAT - 1, StatBlock.MAX_STAT + 1),
+                StatTotals.fromHalves(low, high));
+    }
+
+    @Test
+    void testHalvesOverflowThrows() {
+        long low = StatTotals.widenLow(StatBlock.of(1, 0, 0, 0));
+        try {
+            StatTotals.addHalves(low, Integer.MAX_VALUE);  // strength overflows, endurance does not
+            fail("Uncaught ArithmeticException");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+        try {
+            new StatTotals(0, Integer.MIN_VALUE, 0, 0).minus(StatBlock.of(0, 1, 0, 0));
+            fail("Uncaught ArithmeticException");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+        assertEquals(1, StatTotals.lowerOf(low));
+    }
+}
@@ -0,0 +1,173 @@
+package model;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import persistence.JsonReader;
+import player.Character;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentTest {
+    private List<Character> entrants;
+    private List<MatchResult> results;
+    private TournamentListener recorder;
+
+    @BeforeEach
+    void runBefore() {
+        entrants = new ArrayList<>();
+        entrants.add(new Character("weak", "human", "warrior", 10, 3, 2, 10, 5));
+        entrants.add(new Character("strong", "dwarf", "champion", 60, 25, 20, 50, 30));
+        entrants.add(new Character("average", "elf", "rogue", 30, 10, 8, 30, 15));
+        results = new ArrayList<>();
+        recorder = (result, finished, total) -> {
+            results.add(result);
+            assertEquals(results.size(), finished);
+            assertEquals(3, total);
+        };
+    }
+
+    @Test
+    void testRanking() {
+        Tournament tournament = new Tournament(entrants, 5, 11);
+        try {
+            tournament.play(recorder);
+        } catch (InterruptedException e) {
+            fail("Unexpected InterruptedException");
+        }
+
+        assertEquals(3, results.size());
+        assertEquals(3, tournament.getMatchesPlayed());
+        assertEquals(Arrays.asList(1, 2, 0), tournament.getRanking());
+        assertEquals(2, tournament.getMatchWins(1));
+        assertEquals(0, tournament.getMatchLosses(1));
+        assertEquals(2, tournament.getMatchLosses(0));
+        double total = 0;
+        for (int i = 0; i < 3; i++) {
+            total += tournament.getRating(i);
+        }
+        assertEquals(3 * Tournament.STARTING_RATING, total, 1e-9);
+        assertTrue(tournament.getRating(1) > Tournament.STARTING_RATING);
+        for (MatchResult result : results) {
+            assertEquals(3, Math.max(result.getFirstWins(), result.getSecondWins()));
+            assertTrue(result.getFirstWins() + result.getSecondWins() <= 5);
+        }
+        assertEquals(10, entrants.get(0).getCurrentHealth());
+    }
+
+    @Test
+    void testResultsStreamBeforeRatingsCatchUp() {
+        Tournament tournament = new Tournament(entrants, 1, 4);
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            tournament.play(workers, (result, finished, total) -> {
+                assertTrue(tournament.getMatchesPlayed() <= finished);  // an early finish waits for its turn
+                assertEquals(1, result.getFirstWins() + result.getSecondWins());
+            });
+        } catch (InterruptedException e) {
+            fail("Unexpected InterruptedException");
+        } finally {
+            workers.shutdown();
+        }
+        assertEquals(3, tournament.getMatchesPlayed());
+    }
+
+    @Test
+    void testSameSeedSameResults() {
+        for (int i = 0; i < 6; i++) {
+            entrants.add(new Character("build " + i, "human", "knight", 20 + i, 8 + i, 6, 25, 10 + i % 3));
+        }
+        long[] first = playAll(new Tournament(entrants, 3, 21));
+        long[] second = playAll(new Tournament(entrants, 3, 21));
+        assertEquals(36, first.length);
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void testSameSeedSameRatings() {
+        for (int i = 0; i < 6; i++) {
+            entrants.add(new Character("build " + i, "human", "knight", 20 + i, 8 + i, 6, 25, 10 + i % 3));
+        }
+        Tournament expected = playOn(1, new Tournament(entrants, 3, 21));
+        for (int workers : new int[] {1, 2, 4, 8}) {
+            Tournament tournament = playOn(workers, new Tournament(entrants, 3, 21));
+            assertEquals(expected.getRanking(), tournament.getRanking());
+            for (int i = 0; i < entrants.size(); i++) {
+                assertEquals(expected.getRating(i), tournament.getRating(i), 0);
+            }
+        }
+    }
+
+    @Test
+    void testRankedTable() {
+        Tournament tournament = new Tournament(entrants, 3, 8);
+        try {
+            tournament.play((result, finished, total) -> { });
+        } catch (InterruptedException e) {
+            fail("Unexpected InterruptedException");
+        }
+        JSONObject json = tournament.toJson();
+        JSONArray standings = json.getJSONArray("standings");
+
+        assertEquals(3, json.getInt("bestOf"));
+        assertEquals(3, json.getInt("matches"));
+        assertEquals(3, standings.length());
+        assertEquals(1, standings.getJSONObject(0).getInt("rank"));
+        assertEquals("strong", standings.getJSONObject(0).getString("name"));
+        assertEquals(2, standings.getJSONObject(0).getInt("wins"));
+        String table = tournament.toString();
+        assertTrue(table.indexOf("strong") < table.indexOf("average"));
+        assertTrue(table.indexOf("average") < table.indexOf("weak"));
+    }
+
+    @Test
+    void testSavedEntrants() {
+        try {
+            List<Character> saved = new ArrayList<>();
+            saved.add(new JsonReader("./data/testReaderEmptyInventory.json").read());
+            saved.add(new JsonReader("./data/testReaderCharacterWithInventory.json").read());
+            Tournament tournament = new Tournament(saved, 3, 2);
+            tournament.play((result, finished, total) -> assertEquals(1, total));
+
+            assertEquals(2, tournament.getNumberOfEntrants());
+            assertEquals(1, tournament.getMatchWins(0) + tournament.getMatchWins(1));
+            assertEquals("test name", tournament.getName(0));
+        } catch (IOException | InterruptedException e) {
+            fail("Unexpected exception");
+        }
+    }
+
+    // EFFECTS: plays tournament on a pool of count workers and produces it
+    private Tournament playOn(int count, Tournament tournament) {
+        ExecutorService workers = Executors.newFixedThreadPool(count);
+        try {
+            tournament.play(workers, (result, finished, total) -> { });
+        } catch (InterruptedException e) {
+            fail("Unexpected InterruptedException");
+        } finally {
+            workers.shutdown();
+        }
+        return tournament;
+    }
+
+    // EFFECTS: plays tournament and produces the result of every match, as first, second, first wins and second
+    //          wins packed into a long, ordered by the entrants playing
+    private long[] playAll(Tournament tournament) {
+        List<Long> packed = new ArrayList<>();
+        try {
+            tournament.play((result, finished, total) -> packed.add(((long) result.getFirst() << 48)
+                    | ((long) result.getSecond() << 32) | (result.getFirstWins() << 16) | result.getSecondWins()));
+        } catch (InterruptedException e) {
+            fail("Unexpected InterruptedException");
+        }
+        return packed.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+}
@@ -0,0 +1,122 @@
+package persistence;
+
+import exceptions.InvalidEquipmentException;
+import model.Equipment;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import player.Character;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeSetTest {
+    private Character character;
+    private ChangeSet changes;
+
+    @BeforeEach
+    void runBefore() {
+        character = new Character("test", "human", "warrior", 10, 11, 12, 13, 14);
+        changes = new ChangeSet(character);
+    }
+
+    @Test
+    void testNewCharacterHasEverything() {
+        assertFalse(changes.isEmpty());
+        assertEquals(Character.ALL_CHANGED, character.getChangedFields());
+        changes.clear();
+        assertTrue(changes.isEmpty());
+        assertEquals(0, changes.toJson().length());
+    }
+
+    @Test
+    void testOnlyChangedFields() {
+        changes.clear();
+        character.spendGold(10);
+        JSONObject json = changes.toJson();
+        assertEquals(1, json.length());
+        assertEquals(Character.STARTING_GOLD - 10, json.getInt("gold"));
+
+        character.takeDamage(3);
+        character.levelUp();
+        json = changes.toJson();
+        assertEquals(4, json.length());  // gold, level, currentHP and maxHP
+        assertEquals(7, json.getInt("currentHP"));
+        assertFalse(json.has("strength"));
+        assertFalse(json.has("inventory"));
+        assertFalse(json.has("removed"));
+    }
+
+    @Test
+    void testInventoryChanges() {
+        for (int i = 0; i < 5; i++) {
+            character.equipItem(new Equipment("item" + i, i, 0, 0, 0, 0));
+        }
+        changes.clear();
+        try {
+            character.getInventory().removeEquipment(3);
+            character.equipItem(new Equipment("new", 1, 1, 1, 1, 1));
+            character.equipItem(new Equipment("gone", 2, 2, 2, 2, 2));
+            character.getInventory().removeAll(new int[]{0, 5});  // item0 and "gone"
+            character.getInventory().removeEquipment(0);  // item1
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException");
+        }
+        JSONObject json = changes.toJson();
+        assertEquals("[0,1,3]", json.getJSONArray("removed").toString());
+        assertEquals(1, json.getJSONArray("added").length());
+        assertEquals("new", json.getJSONArray("added").getJSONObject(0).getString("name"));
+    }
+
+    @Test
+    void testApplyChangesMatchesFullSave() {
+        character.equipItem(new Equipment("sword", 3, 0, 0, 0, 25));
+        character.equipItem(new Equipment("shield", 0, 3, 0, 0, 25));
+        JSONObject saved = character.toJson();
+        changes.clear();
+        for (int round = 0; round < 3; round++) {
+            character.levelUp();
+            character.increaseStats(character.getCharacterClass());
+            character.takeDamage(round);
+            character.equipItem(new Equipment("ring" + round, 0, 0, round, 0, 5));
+            try {
+                character.getInventory().removeEquipment(0);
+            } catch (InvalidEquipmentException e) {
+                fail("Unexpected InvalidEquipmentException");
+            }
+            JSONObject delta = changes.toJson();
+            changes.clear();
+            ChangeSet.applyTo(saved, delta);
+            assertTrue(character.toJson().similar(saved));
+        }
+    }
+
+    @Test
+    void testWriterConsumesChanges() {
+        try {
+            JsonReader reader = new JsonReader("./data/testReaderCharacterWithInventory.json");
+            character = reader.read();
+            changes = new ChangeSet(character);
+            assertTrue(changes.isEmpty());  // a character that was just read matches its file
+
+            character.spendGold(40);
+            JsonWriter writer = new JsonWriter("./data/testWriterChangeSet.json");
+            writer.open();
+            writer.writeChanges(changes);
+            writer.close();
+            assertTrue(changes.isEmpty());
+
+            String written = new String(Files.readAllBytes(Paths.get("./data/testWriterChangeSet.json")),
+                    StandardCharsets.UTF_8);
+            JSONObject json = new JSONObject(written);
+            assertEquals(1, json.length());
+            assertEquals(60, json.getInt("gold"));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package persistence;
+
+import exceptions.InvalidReplayException;
+import model.ArenaRoster;
+import model.CombatEngine;
+import model.Equipment;
+import model.GameRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import player.Character;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CombatReplayerTest {
+    private static final String LOG_FILE = "./data/testWriterCombatLog.log";
+    private static final String CORRUPTED_FILE = "./data/testWriterCorruptedCombatLog.log";
+
+    private Character player;
+    private Character enemy;
+
+    @BeforeEach
+    void runBefore() {
+        player = new Character("player", "human", "warrior", 40, 12, 10, 30, 12);
+        enemy = ArenaRoster.enemyFor(3);
+    }
+
+    @Test
+    void testReplayMatches() {
+        CombatRecorder recorder = record(1234);
+        try {
+            CombatReplayer replayer = new CombatReplayer(recorder.toByteArray());
+            assertEquals(1234, replayer.getSeed());
+            assertEquals("player", replayer.getFirst().getName());
+            assertEquals(40, replayer.getFirst().getCurrentHealth());
+            assertEquals("Lich King", replayer.getSecond().getName());
+            Character winner = replayer.replay();
+            assertEquals(player.isAlive() ? "player" : "Lich King", winner.getName());
+            Character replayedPlayer = replayer.getFirst();
+            assertEquals(player.getCurrentHealth(), replayedPlayer.getCurrentHealth());
+            assertEquals(enemy.getCurrentHealth(), replayer.getSecond().getCurrentHealth());
+        } catch (InvalidReplayException e) {
+            fail("Unexpected InvalidReplayException: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void testEquipmentIsPartOfStats() {
+        player.equipItem(new Equipment("club", 20, 0, 0, 0, 0));
+        CombatRecorder recorder = record(9);
+        try {
+            CombatReplayer replayer = new CombatReplayer(recorder.toByteArray());
+            assertEquals(player.getStrength(), replayer.getFirst().getStrength());
+            replayer.replay();
+        } catch (InvalidReplayException e) {
+            fail("Unexpected InvalidReplayException: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void testFewBytesPerRound() {
+        Character giant = new Character("giant", "cyclops", "barbarian", 2000, 3, 10, 30, 5);
+        Character titan = new Character("titan", "cyclops", "barbarian", 2000, 3, 10, 30, 10);
+        CombatRecorder recorder = new CombatRecorder(5, giant, titan);
+        int header = recorder.size();
+        CombatEngine engine = new CombatEngine(new GameRandom(5), recorder);
+        int rounds = 1;
+        while (engine.round(giant, titan) == null) {
+            rounds++;
+        }
+        assertTrue(rounds > 100);
+        assertTrue(recorder.size() - header <= 6 * rounds);
+        assertTrue(header < 48);
+    }
+
+    @Test
+    void testTamperedLog() {
+        byte[] log = record(77).toByteArray();
+        byte[] tampered = log.clone();
+        tampered[tampered.length - 2] ^= 1;
+        assertInvalid(tampered);
+        assertInvalid(Arrays.copyOf(log, log.length + 1));
+        byte[] otherSeed = log.clone();
+        otherSeed[1] ^= 1;
+        assertInvalid(otherSeed);
+        assertInvalid(Arrays.copyOf(log, 5));
+        assertInvalid(new byte[0]);
+    }
+
+    @Test
+    void testCorruptedLength() {
+        byte[] header = Arrays.copyOf(record(5).toByteArray(), 1 + CombatRecorder.SEED_BYTES);
+        byte[] negative = Arrays.copyOf(header, header.length + 5);
+        negative[header.length] = (byte) 0xFF;  // a name length of 2^32 - 1, negative as an int
+        negative[header.length + 1] = (byte) 0xFF;
+        negative[header.length + 2] = (byte) 0xFF;
+        negative[header.length + 3] = (byte) 0xFF;
+        negative[header.length + 4] = (byte) 0x0F;
+        assertInvalid(negative);
+        byte[] tooLong = Arrays.copyOf(header, header.length + 1);
+        tooLong[header.length] = 0x7F;  // a name of 127 bytes, with nothing after it
+        assertInvalid(tooLong);
+
+        try {
+            byte[] negativeLength = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+            Files.write(Paths.get(CORRUPTED_FILE), negativeLength);
+            CombatReplayer.readLogs(CORRUPTED_FILE);
+            fail("Uncaught IOException");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testLogStoppedEarly() {
+        CombatRecorder recorder = new CombatRecorder(3, player, enemy);
+        CombatEngine engine = new CombatEngine(new GameRandom(3), recorder);
+        engine.round(player, enemy);
+        try {
+            assertNull(new CombatReplayer(recorder.toByteArray()).replay());
+        } catch (InvalidReplayException e) {
+            fail("Unexpected InvalidReplayException: " + e.getMessage());
+        }
+    }
+
+    @Test
+    void testAppendAndReadLogs() {
+        try {
+            Files.deleteIfExists(Paths.get(LOG_FILE));
+            CombatRecorder unfought = new CombatRecorder(1, player, enemy);
+            CombatRecorder fought = record(2);
+            unfought.appendTo(LOG_FILE);
+            fought.appendTo(LOG_FILE);
+
+            List<byte[]> logs = CombatReplayer.readLogs(LOG_FILE);
+            assertEquals(2, logs.size());
+            assertArrayEquals(unfought.toByteArray(), logs.get(0));
+            assertArrayEquals(fought.toByteArray(), logs.get(1));
+            assertNull(new CombatReplayer(logs.get(0)).replay());
+            assertNotNull(new CombatReplayer(logs.get(1)).replay());
+        } catch (IOException | InvalidReplayException e) {
+            fail("Unexpected exception: " + e.getMessage());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fights player against enemy rolling from seed, and produces the recording of it
+    private CombatRecorder record(long seed) {
+        CombatRecorder recorder = new CombatRecorder(seed, player, enemy);
+        new CombatEngine(new GameRandom(seed), recorder).fight(player, enemy);
+        return recorder;
+    }
+
+    // EFFECTS: passes if replaying log throws InvalidReplayException
+    private void assertInvalid(byte[] log) {
+        try {
+            new CombatReplayer(log).replay();
+            fail("Uncaught InvalidReplayException");
+        } catch (InvalidReplayException e) {
+            // expected
+        }
+    }
+}
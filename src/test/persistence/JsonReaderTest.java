@@ -1,13 +1,17 @@
 package persistence;
 
 import exceptions.InvalidEquipmentException;
+import model.Equipment;
+import model.EquipmentCatalog;
 import model.Inventory;
+import org.json.JSONException;
 import org.junit.jupiter.api.Test;
 import player.Character;
 
 import java.io.IOException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -71,4 +75,48 @@ public class JsonReaderTest extends JsonTest{
             fail("Unexpected InvalidEquipmentException");
         }
     }
+
+    @Test
+    void testReaderKeepsCustomItemsOutOfCatalog() {
+        JsonReader reader = new JsonReader("./data/testReaderCharacterWithInventory.json");
+        try {
+            Equipment first = reader.read().getInventory().getEquipment(0);
+            Equipment second = reader.read().getInventory().getEquipment(0);
+            assertNotSame(first, second);
+            assertEquals("axe", second.getName());
+            assertEquals(10, second.getWorth());
+            assertEquals(EquipmentCatalog.NO_ID, EquipmentCatalog.idOf(first));
+            assertEquals(14, EquipmentCatalog.size());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        } catch (InvalidEquipmentException e) {
+            fail("Unexpected InvalidEquipmentException");
+        }
+    }
+
+    @Test
+    void testReaderStatOutOfRange() {
+        JsonReader reader = new JsonReader("./data/testReaderStatOutOfRange.json");
+        try {
+            reader.read();
+            fail("JSONException expected");
+        } catch (JSONException e) {
+            // pass
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderUnknownClass() {
+        JsonReader reader = new JsonReader("./data/testReaderUnknownClass.json");
+        try {
+            reader.read();
+            fail("JSONException expected");
+        } catch (JSONException e) {
+            // pass
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
 }